@@ -0,0 +1,62 @@
+#!/usr/bin/env python3
+# Compare two JMH JSON result files (mvn -Pjmh test-compile exec:exec writes target/jmh-result.json).
+#
+# Usage:
+#   python3 scripts/jmh-compare.py baseline.json target/jmh-result.json [--threshold 10]
+#
+# A benchmark counts as a regression when it got slower by more than --threshold percent (default 10) AND
+# the two confidence intervals do not overlap, so run-to-run noise is not reported. Exits 1 on any
+# regression. Only compare files produced on the same machine and JDK.
+
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    scores = {}
+    for r in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted((r.get("params") or {}).items()))
+        key = r["benchmark"].rsplit(".", 2)[-2] + "." + r["benchmark"].rsplit(".", 1)[-1]
+        if params:
+            key += f" [{params}]"
+        m = r["primaryMetric"]
+        scores[key] = (m["score"], m.get("scoreError") or 0.0, m["scoreUnit"], r["mode"])
+    return scores
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="percent")
+    args = parser.parse_args()
+
+    baseline, current = load(args.baseline), load(args.current)
+    regressions = 0
+    print(f"{'benchmark':<70} {'baseline':>14} {'current':>14} {'change':>9}")
+    for key in sorted(current):
+        score, error, unit, mode = current[key]
+        if key not in baseline:
+            print(f"{key:<70} {'-':>14} {score:>10.3f} {unit:<3} {'new':>9}")
+            continue
+        base, base_error, _, _ = baseline[key]
+        # Throughput modes: higher is better; time modes (avgt, sample, ss): lower is better
+        slower = (base - score) / base if mode == "thrpt" else (score - base) / base
+        separated = abs(score - base) > error + base_error
+        flag = ""
+        if slower * 100 > args.threshold and separated:
+            flag = "  REGRESSION"
+            regressions += 1
+        print(f"{key:<70} {base:>10.3f} {unit:<3} {score:>10.3f} {unit:<3} {slower * 100:>+8.1f}%{flag}")
+    for key in sorted(set(baseline) - set(current)):
+        print(f"{key:<70} (missing from current run)")
+    if regressions:
+        print(f"\n{regressions} regression(s) over {args.threshold:.0f}%")
+        sys.exit(1)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,88 @@
+package com.example.demoapp.dto;
+
+import com.example.demoapp.entity.JobStatus;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a {@code Page<JobResponse>} to bytes the way {@code GET /api/jobs} does: the object mapper is built
+ * like Spring Boot's (Java time module, ISO dates), and the page carries the usual pageable/sort metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private Page<JobResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        List<JobResponse> jobs = new ArrayList<>(pageSize);
+        Instant now = Instant.now();
+        for (int i = 0; i < pageSize; i++) {
+            jobs.add(JobResponse.builder()
+                    .id(10_000L - i)
+                    .postedById(500L + i % 37)
+                    .posterName("Customer " + i)
+                    .categoryId(1L + i % 12)
+                    .categoryName("Category " + i % 12)
+                    .title("Job title number " + i)
+                    .description("A few sentences describing what needs doing, where, and any access details. #" + i)
+                    .location(LocationDto.builder()
+                            .streetAddress(i + " Main Boulevard, Lahore")
+                            .latitude(31.5 + i * 0.001)
+                            .longitude(74.3 + i * 0.001)
+                            .build())
+                    .scheduledAt(LocalDateTime.now().plusDays(1 + i % 7))
+                    .budgetMin(new BigDecimal("1000.00"))
+                    .budgetMax(new BigDecimal("5000.00"))
+                    .durationHours(1 + i % 8)
+                    .status(JobStatus.OPEN)
+                    .bidCount(i % 9)
+                    .createdAt(now.minusSeconds(60L * i))
+                    .updatedAt(now.minusSeconds(60L * i))
+                    .build());
+        }
+        page = new PageImpl<>(jobs, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")), 5_000);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
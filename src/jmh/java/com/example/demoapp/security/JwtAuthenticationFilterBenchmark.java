@@ -0,0 +1,97 @@
+package com.example.demoapp.security;
+
+import com.example.demoapp.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a Bearer token in {@link JwtAuthenticationFilter}.
+ * <ul>
+ *   <li>{@code legacyParse}: the old path, which rebuilt the key and parser and verified the HMAC on every call</li>
+ *   <li>{@code filterUncached}: shared key/parser, verification on every request ({@code app.jwt.verified-cache-size=0})</li>
+ *   <li>{@code filterCached}: repeat request of a session, answered from the verified-token cache</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForSigningMustBeAtLeast256BitsLongForHS256";
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService cached = jwtService(10_000);
+        JwtService uncached = jwtService(0);
+        cachedFilter = new JwtAuthenticationFilter(cached);
+        uncachedFilter = new JwtAuthenticationFilter(uncached);
+        token = cached.generateAccessToken("bench@example.com", 42L, Role.MAHIR);
+    }
+
+    @Benchmark
+    public Object legacyParse() {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return UserPrincipal.create(claims.get("userId", Long.class), claims.getSubject(),
+                Role.valueOf(claims.get("role", String.class)));
+    }
+
+    @Benchmark
+    public Object filterUncached() throws Exception {
+        return runFilter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object filterCached() throws Exception {
+        return runFilter(cachedFilter);
+    }
+
+    private Object runFilter(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    private static JwtService jwtService(long cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "accessExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(service, "refreshExpirationMs", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", cacheSize);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demoapp.security;
+
+import com.example.demoapp.entity.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} on its own: signing at login/refresh and full verification ({@code parseToken}), which
+ * the request path only pays on a miss of the verified-token cache (see {@link JwtAuthenticationFilterBenchmark}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmarkSecretKeyForSigningMustBeAtLeast256BitsLongForHS256");
+        ReflectionTestUtils.setField(jwtService, "accessExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 0L);
+        jwtService.init();
+        accessToken = jwtService.generateAccessToken("bench@example.com", 42L, Role.MAHIR);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken("bench@example.com", 42L, Role.MAHIR);
+    }
+
+    @Benchmark
+    public Object parseToken() {
+        return jwtService.parseToken(accessToken);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.AccountType;
+import com.example.demoapp.entity.Booking;
+import com.example.demoapp.entity.BookingStatus;
+import com.example.demoapp.entity.Category;
+import com.example.demoapp.entity.ChatThread;
+import com.example.demoapp.entity.Job;
+import com.example.demoapp.entity.Location;
+import com.example.demoapp.entity.MahirRatingStats;
+import com.example.demoapp.entity.Role;
+import com.example.demoapp.entity.User;
+import com.example.demoapp.repository.ChatThreadRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping per row, for the private mappers behind the detail and admin endpoints. Services are
+ * created without their constructors and given only the collaborators a mapper touches; the mappers are called
+ * through method handles so their production visibility stays as it is.
+ * <p>
+ * {@code bookingToResponse} includes the per-booking chat thread lookup, answered here by an in-memory stub.
+ * In production that lookup is a query, so the score is the mapping overhead on top of it, not the total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMapperBenchmark {
+
+    private Object bookingService;
+    private Object adminService;
+    private Object mahirSearchService;
+    private MethodHandle bookingToResponse;
+    private MethodHandle adminToJobResponse;
+    private MethodHandle mahirToResponse;
+
+    private Booking booking;
+    private Job job;
+    private User mahir;
+    private MahirRatingStats ratingStats;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjenesisStd objenesis = new ObjenesisStd();
+        ChatThread thread = ChatThread.builder().id(7L).build();
+        ChatThreadRepository threads = (ChatThreadRepository) Proxy.newProxyInstance(
+                ChatThreadRepository.class.getClassLoader(), new Class<?>[] { ChatThreadRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByBookingId")) return Optional.of(thread);
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        bookingService = objenesis.newInstance(BookingService.class);
+        ReflectionTestUtils.setField(bookingService, "chatThreadRepository", threads);
+        adminService = objenesis.newInstance(AdminService.class);
+        mahirSearchService = objenesis.newInstance(MahirSearchService.class);
+
+        bookingToResponse = privateMethod(BookingService.class, "toResponse", Booking.class);
+        adminToJobResponse = privateMethod(AdminService.class, "toJobResponse", Job.class);
+        mahirToResponse = privateMethod(MahirSearchService.class, "toMahirResponse",
+                User.class, MahirRatingStats.class, boolean.class);
+
+        Location location = Location.builder()
+                .streetAddress("12 Mall Road, Lahore").latitude(31.5546).longitude(74.3572).build();
+        List<Category> categories = List.of(
+                Category.builder().id(1L).name("Plumbing").description("Pipes, taps and drains").build(),
+                Category.builder().id(2L).name("Electrical").description("Wiring and fittings").build(),
+                Category.builder().id(3L).name("AC Repair").description("Servicing and gas refill").build());
+        User customer = User.builder().id(10L).fullName("Ayesha Khan").email("ayesha@example.com")
+                .role(Role.USER).location(location).build();
+        mahir = User.builder().id(20L).fullName("Bilal Ahmed").email("bilal@example.com").phoneNumber("+923001234567")
+                .role(Role.MAHIR).accountType(AccountType.PREMIUM).location(location)
+                .serviceCategories(categories).customServiceName("Solar panels").build();
+        ratingStats = MahirRatingStats.builder().mahirId(20L).ratingSum(431).ratingCount(97).build();
+        job = Job.builder().id(100L).postedBy(customer).category(categories.get(0))
+                .title("Kitchen sink leaking").description("Water under the sink since yesterday, needs a look today.")
+                .location(location).scheduledAt(LocalDateTime.now().plusDays(1))
+                .budgetMin(new BigDecimal("1500.00")).budgetMax(new BigDecimal("3000.00")).durationHours(2)
+                .bidCount(4).createdAt(Instant.now()).updatedAt(Instant.now()).build();
+        booking = Booking.builder().id(1000L).customer(customer).mahir(mahir).job(job)
+                .agreedPrice(new BigDecimal("2500.00")).status(BookingStatus.ACCEPTED)
+                .scheduledAt(LocalDateTime.now().plusDays(1)).message("Can come at 10am")
+                .createdAt(Instant.now()).updatedAt(Instant.now()).build();
+    }
+
+    @Benchmark
+    public Object bookingToResponse() throws Throwable {
+        return bookingToResponse.invoke(bookingService, booking);
+    }
+
+    @Benchmark
+    public Object adminToJobResponse() throws Throwable {
+        return adminToJobResponse.invoke(adminService, job);
+    }
+
+    @Benchmark
+    public Object mahirToResponse() throws Throwable {
+        return mahirToResponse.invoke(mahirSearchService, mahir, ratingStats, true);
+    }
+
+    private static MethodHandle privateMethod(Class<?> owner, String name, Class<?>... parameterTypes) throws Exception {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+        Class<?> returnType = owner.getDeclaredMethod(name, parameterTypes).getReturnType();
+        return lookup.findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.demoapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-model HTTP load driver against a running instance loaded with {@code SyntheticDataLoader} data. Each
+ * virtual user signs in as a random synthetic account and loops over a weighted mix of the real endpoints its role
+ * uses (feeds, nearby search, my jobs/bids/bookings, chat lists and history, notifications, and a small share of
+ * job, bid and chat writes). Latencies recorded after the warm-up are reported per endpoint as p50/p95/p99/max and
+ * written as JSON so a run can be kept as the baseline for the next one.
+ * <p>
+ * Settings are system properties, e.g. {@code mvn -Ploadtest test-compile exec:java -Dloadtest.virtualUsers=100}:
+ * <ul>
+ *   <li>{@code loadtest.baseUrl} (http://localhost:8080), {@code loadtest.virtualUsers} (50)</li>
+ *   <li>{@code loadtest.warmupSeconds} (20), {@code loadtest.durationSeconds} (120), {@code loadtest.thinkMs} (0)</li>
+ *   <li>{@code loadtest.accounts} / {@code loadtest.mahirPercent}: must match {@code app.synthetic-data.users} /
+ *       {@code mahir-percent} (10000 / 30); {@code loadtest.password} (Password123!)</li>
+ *   <li>{@code loadtest.resultFile} (target/loadtest-result.json)</li>
+ * </ul>
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+    private final int virtualUsers = Integer.getInteger("loadtest.virtualUsers", 50);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 20);
+    private final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 120);
+    private final int thinkMs = Integer.getInteger("loadtest.thinkMs", 0);
+    private final int accounts = Integer.getInteger("loadtest.accounts", 10_000);
+    private final int mahirPercent = Integer.getInteger("loadtest.mahirPercent", 30);
+    private final String password = System.getProperty("loadtest.password", "Password123!");
+    private final String resultFile = System.getProperty("loadtest.resultFile", "target/loadtest-result.json");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Recorder> recorders = new TreeMap<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private volatile long measureFrom;
+    private volatile long stopAt;
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver().run();
+    }
+
+    private void run() throws Exception {
+        JsonNode categories = JSON.readTree(http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/categories"))
+                .GET().build(), HttpResponse.BodyHandlers.ofString()).body());
+        categories.forEach(c -> categoryIds.add(c.path("id").asLong()));
+        if (categoryIds.isEmpty()) {
+            throw new IllegalStateException("No categories at " + baseUrl + "/api/categories; is the app running?");
+        }
+
+        long start = System.currentTimeMillis();
+        measureFrom = start + warmupSeconds * 1000L;
+        stopAt = measureFrom + durationSeconds * 1000L;
+        System.out.printf("%d virtual users against %s: %d s warm-up, %d s measured%n",
+                virtualUsers, baseUrl, warmupSeconds, durationSeconds);
+        CountDownLatch done = new CountDownLatch(virtualUsers);
+        for (int i = 0; i < virtualUsers; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    new VirtualUser().loop();
+                } catch (Exception e) {
+                    System.err.println("Virtual user stopped: " + e);
+                } finally {
+                    done.countDown();
+                }
+            }, "vu-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+        report();
+    }
+
+    private synchronized Recorder recorder(String endpoint) {
+        return recorders.computeIfAbsent(endpoint, k -> new Recorder());
+    }
+
+    private void report() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%n%-42s %8s %7s %8s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Map<String, Recorder> snapshot;
+        synchronized (this) {
+            snapshot = new TreeMap<>(recorders);
+        }
+        snapshot.forEach((endpoint, r) -> {
+            long[] sorted = r.sorted();
+            if (sorted.length == 0) return;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("count", sorted.length);
+            row.put("errors", r.errors());
+            row.put("rps", sorted.length / (double) durationSeconds);
+            row.put("p50Ms", percentile(sorted, 50));
+            row.put("p95Ms", percentile(sorted, 95));
+            row.put("p99Ms", percentile(sorted, 99));
+            row.put("maxMs", sorted[sorted.length - 1] / 1e6);
+            rows.add(row);
+            System.out.printf("%-42s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint, sorted.length, r.errors(),
+                    row.get("rps"), row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"));
+        });
+        File out = new File(resultFile);
+        if (out.getParentFile() != null) out.getParentFile().mkdirs();
+        JSON.writerWithDefaultPrettyPrinter().writeValue(out, rows);
+        System.out.println("\nResults written to " + out.getPath());
+    }
+
+    /** Nearest-rank percentile in milliseconds. */
+    private static double percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    /** Latencies (ns) of one endpoint during the measured window. */
+    private static final class Recorder {
+
+        private long[] values = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void record(long nanos, boolean error) {
+            if (size == values.length) {
+                long[] grown = new long[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = nanos;
+            if (error) errors++;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+
+    private final class VirtualUser {
+
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+        private final int account = random.nextInt(accounts);
+        private final boolean mahir = account < (long) accounts * mahirPercent / 100;
+        private String token;
+        private final List<Long> seenJobIds = new ArrayList<>();
+        private final List<Long> threadIds = new ArrayList<>();
+
+        void loop() throws Exception {
+            signIn();
+            while (System.currentTimeMillis() < stopAt) {
+                if (mahir) {
+                    mahirStep(random.nextInt(100));
+                } else {
+                    customerStep(random.nextInt(100));
+                }
+                if (thinkMs > 0) Thread.sleep(thinkMs);
+            }
+        }
+
+        private void customerStep(int dice) throws Exception {
+            if (dice < 30) feed("GET /api/jobs", "/api/jobs?page=" + random.nextInt(3) + "&size=20");
+            else if (dice < 40) feed("GET /api/jobs?categoryId", "/api/jobs?size=20&categoryId=" + anyCategory());
+            else if (dice < 50) get("GET /api/jobs?filter=my", "/api/jobs?filter=my&size=20");
+            else if (dice < 60) get("GET /api/bookings", "/api/bookings?size=20");
+            else if (dice < 70) chats();
+            else if (dice < 80) messages();
+            else if (dice < 90) get("GET /api/notifications", "/api/notifications?size=20");
+            else if (dice < 95) get("GET /api/mahirs?categoryId", "/api/mahirs?size=20&categoryId=" + anyCategory());
+            else if (dice < 98) get("GET /api/mahirs?lat&lng", "/api/mahirs?size=20&radiusKm=10&" + anyPoint());
+            else post("POST /api/jobs", "/api/jobs", "{\"title\":\"Load test job\",\"description\":\"Created by the "
+                    + "load driver\",\"categoryId\":" + anyCategory() + ",\"budgetMin\":50,\"budgetMax\":120,"
+                    + "\"durationHours\":2,\"location\":{\"streetAddress\":\"Load street\"," + anyPointJson() + "}}");
+        }
+
+        private void mahirStep(int dice) throws Exception {
+            if (dice < 35) feed("GET /api/jobs", "/api/jobs?page=" + random.nextInt(3) + "&size=20");
+            else if (dice < 50) feed("GET /api/jobs?lat&lng", "/api/jobs?size=20&radiusKm=10&" + anyPoint());
+            else if (dice < 60) get("GET /api/bids", "/api/bids?size=20");
+            else if (dice < 70) get("GET /api/bookings", "/api/bookings?size=20");
+            else if (dice < 80) chats();
+            else if (dice < 90) messages();
+            else if (dice < 95) get("GET /api/notifications/unread-count", "/api/notifications/unread-count");
+            else if (dice < 98 && !seenJobIds.isEmpty()) {
+                long jobId = seenJobIds.get(random.nextInt(seenJobIds.size()));
+                post("POST /api/jobs/{id}/bids", "/api/jobs/" + jobId + "/bids",
+                        "{\"message\":\"Load test bid\",\"proposedPrice\":" + (60 + random.nextInt(60)) + "}");
+            } else if (!threadIds.isEmpty()) {
+                long threadId = threadIds.get(random.nextInt(threadIds.size()));
+                post("POST /api/chats/{id}/messages", "/api/chats/" + threadId + "/messages",
+                        "{\"content\":\"On my way\"}");
+            }
+        }
+
+        private void feed(String endpoint, String path) throws Exception {
+            JsonNode page = get(endpoint, path);
+            if (page == null) return;
+            seenJobIds.clear();
+            page.path("content").forEach(j -> seenJobIds.add(j.path("id").asLong()));
+        }
+
+        private void chats() throws Exception {
+            JsonNode list = get("GET /api/chats", "/api/chats");
+            if (list == null) return;
+            threadIds.clear();
+            list.forEach(t -> threadIds.add(t.path("threadId").asLong()));
+        }
+
+        private void messages() throws Exception {
+            if (threadIds.isEmpty()) {
+                chats();
+                return;
+            }
+            long threadId = threadIds.get(random.nextInt(threadIds.size()));
+            get("GET /api/chats/{id}/messages", "/api/chats/" + threadId + "/messages?limit=50");
+        }
+
+        private void signIn() throws Exception {
+            String body = "{\"email\":\"user" + account + "@synthetic.test\",\"password\":\"" + password + "\"}";
+            HttpResponse<String> response = send("POST /auth/signin", HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signin"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Sign-in failed for user" + account + ": HTTP " + response.statusCode());
+            }
+            token = JSON.readTree(response.body()).path("accessToken").asText();
+        }
+
+        private JsonNode get(String endpoint, String path) throws Exception {
+            return call(endpoint, () -> authorized(path).GET());
+        }
+
+        private void post(String endpoint, String path, String json) throws Exception {
+            call(endpoint, () -> authorized(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)));
+        }
+
+        /** Returns the parsed body of a 2xx response, or null. Signs in again once when the access token expired. */
+        private JsonNode call(String endpoint, RequestFactory request) throws Exception {
+            HttpResponse<String> response = send(endpoint, request.create());
+            if (response.statusCode() == 401) {
+                signIn();
+                response = send(endpoint, request.create());
+            }
+            return response.statusCode() / 100 == 2 && !response.body().isEmpty() ? JSON.readTree(response.body()) : null;
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws Exception {
+            long started = System.nanoTime();
+            HttpResponse<String> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - started;
+            if (System.currentTimeMillis() >= measureFrom) {
+                // 4xx from writes (e.g. a second bid on the same job) are expected; only 5xx count as errors
+                recorder(endpoint).record(elapsed, response.statusCode() >= 500);
+            }
+            return response;
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+        }
+
+        private long anyCategory() {
+            return categoryIds.get(random.nextInt(categoryIds.size()));
+        }
+
+        /** Around the cities used by SyntheticDataLoader. */
+        private String anyPoint() {
+            return "lat=" + (36.8065 + (random.nextDouble() - 0.5) * 0.2) + "&lng=" + (10.1815 + (random.nextDouble() - 0.5) * 0.2);
+        }
+
+        private String anyPointJson() {
+            return "\"latitude\":" + (36.8065 + (random.nextDouble() - 0.5) * 0.2)
+                    + ",\"longitude\":" + (10.1815 + (random.nextDouble() - 0.5) * 0.2);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest.Builder create();
+    }
+}
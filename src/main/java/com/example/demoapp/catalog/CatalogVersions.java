@@ -0,0 +1,91 @@
+package com.example.demoapp.catalog;
+
+import com.example.demoapp.config.CacheConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Invalidation and ETags for the public catalog. Admin writes call {@link #markChanged}, which evicts the
+ * resource's cache after commit. {@link #etag} derives the tag from the cached payload itself, a digest of its
+ * JSON computed once when the cache fills, so a tag names exactly the content served with it: the same on
+ * every replica and across restarts, and new whenever a cache reloads different rows, including rows written
+ * through another instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersions {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Resource {
+        CATEGORIES(CacheConfig.CATEGORIES),
+        FAQS(CacheConfig.ACTIVE_FAQS),
+        PLANS(CacheConfig.ACTIVE_PLANS),
+        BANNERS(CacheConfig.HOME_BANNERS);
+
+        private final String cacheName;
+    }
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    /** Digest per cached payload instance (identity, weakly held), dropped with the cache entry. */
+    private final com.github.benmanes.caffeine.cache.Cache<Object, String> digests =
+            Caffeine.newBuilder().weakKeys().build();
+
+    /**
+     * Strong ETag (quoted) for {@code payload}, which must be the object held by the resource's cache (not a
+     * per-request copy, or the digest is recomputed every time). {@code variant} distinguishes representations
+     * derived from it, such as a query param filter.
+     */
+    public String etag(Resource resource, Object payload, String variant) {
+        String tag = resource.name().toLowerCase() + "-" + digests.get(payload, this::digest);
+        return "\"" + (variant == null || variant.isEmpty() ? tag : tag + "-" + variant) + "\"";
+    }
+
+    /**
+     * Evicts the resource's cache once the current transaction has committed (immediately if there is none;
+     * nothing on rollback). The next read reloads it and so gets a new tag.
+     */
+    public void markChanged(Resource resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(resource);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(resource);
+            }
+        });
+    }
+
+    private void invalidate(Resource resource) {
+        Cache cache = cacheManager.getCache(resource.getCacheName());
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    private String digest(Object payload) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(payload));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 12));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot digest catalog payload", e);
+        }
+    }
+}
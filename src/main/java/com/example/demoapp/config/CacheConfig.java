@@ -0,0 +1,84 @@
+package com.example.demoapp.config;
+
+import com.example.demoapp.service.BannerService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * In-process Caffeine caches for catalog data that changes a few times a month. Admin write paths invalidate
+ * explicitly through {@link com.example.demoapp.catalog.CatalogVersions#markChanged}, after their transaction
+ * commits. Every cache records hit/miss statistics ({@code GET /api/admin/caches}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Canonical categories in app order ({@code GET /api/categories}). */
+    public static final String CATEGORIES = "categories";
+    /** Active FAQs ({@code GET /api/faqs}). */
+    public static final String ACTIVE_FAQS = "activeFaqs";
+    /** Active membership plans, before the per-request audience filter ({@code GET /api/membership-plans}). */
+    public static final String ACTIVE_PLANS = "activePlans";
+    /** Home banners per caller role; entries expire at the next banner start/end time. */
+    public static final String HOME_BANNERS = "homeBanners";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.ttl-minutes:60}") long ttlMinutes) {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        manager.setCacheNames(List.of(CATEGORIES, ACTIVE_FAQS, ACTIVE_PLANS));
+        manager.registerCustomCache(HOME_BANNERS, Caffeine.newBuilder()
+                .maximumSize(10)
+                .expireAfter(new BannerWindowExpiry(ttl))
+                .recordStats()
+                .build());
+        return manager;
+    }
+
+    /**
+     * Expires a {@link BannerService.HomeBanners} entry at its {@code validUntil} (the next time a banner
+     * enters or leaves its window) or after the regular TTL, whichever comes first.
+     */
+    static final class BannerWindowExpiry implements Expiry<Object, Object> {
+
+        private final long ttlNanos;
+
+        BannerWindowExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (value instanceof BannerService.HomeBanners banners && banners.getValidUntil() != null) {
+                long untilBoundary = Duration.between(Instant.now(), banners.getValidUntil()).toNanos();
+                return Math.max(0, Math.min(ttlNanos, untilBoundary));
+            }
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hikari and PgJDBC settings for the pools built by {@link RailwayDataSourceConfig} ({@code app.datasource.pool.*}).
+ * Defaults favour failing fast over queueing: a request that cannot get a connection within
+ * {@code connectionTimeoutMs} gets an error instead of holding a servlet thread for Hikari's default 30 s.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.pool")
+public class DataSourcePoolProperties {
+
+    /** Connections to the primary. Keep (instances × size) under the server's max_connections. */
+    private int maximumPoolSize = 10;
+
+    /** Connections to the read replica, if DATABASE_READ_URL is set. */
+    private int replicaMaximumPoolSize = 10;
+
+    private int minimumIdle = 2;
+
+    private long connectionTimeoutMs = 5_000;
+
+    private long idleTimeoutMs = 600_000;
+
+    /** Below any idle-connection cutoff of the database or proxy in front of it. */
+    private long maxLifetimeMs = 1_800_000;
+
+    /** Logs a stack trace for connections held longer than this; 0 disables. */
+    private long leakDetectionThresholdMs = 30_000;
+
+    /**
+     * PgJDBC: executions of the same statement before it becomes a server-side prepared statement. Set 0 behind
+     * a transaction-pooling PgBouncer, which cannot keep prepared statements across transactions.
+     */
+    private int prepareThreshold = 5;
+
+    /** PgJDBC: per-connection cache of prepared statements (count and size). */
+    private int preparedStatementCacheQueries = 256;
+
+    private int preparedStatementCacheSizeMb = 5;
+
+    /** PgJDBC: turns JDBC batches (hibernate.jdbc.batch_size, JdbcTemplate.batchUpdate) into multi-row INSERTs. */
+    private boolean reWriteBatchedInserts = true;
+}
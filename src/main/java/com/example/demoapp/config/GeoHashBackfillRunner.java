@@ -0,0 +1,66 @@
+package com.example.demoapp.config;
+
+import com.example.demoapp.geo.GeoHash;
+import com.example.demoapp.repository.JobRepository;
+import com.example.demoapp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fills {@code geohash}/{@code job_geohash} for users and jobs that have coordinates but were saved before
+ * the column existed (new rows get it from their entity callbacks). A no-op once every row is filled.
+ * <p>
+ * Writes the column with a batched UPDATE rather than through the entities, so {@code Job.onUpdate()} does not
+ * bump {@code updatedAt} on every job.
+ */
+@Component
+@Order(200)
+@RequiredArgsConstructor
+@Slf4j
+public class GeoHashBackfillRunner implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int users = backfill("users", "geohash", userRepository::findMissingGeohash);
+        int jobs = backfill("jobs", "job_geohash", jobRepository::findMissingGeohash);
+        if (users > 0 || jobs > 0) {
+            log.info("Geohash backfill: {} users, {} jobs", users, jobs);
+        }
+    }
+
+    /** @param missing [id, latitude, longitude] rows without a geohash */
+    private int backfill(String table, String column, Function<PageRequest, List<Object[]>> missing) {
+        String sql = "UPDATE " + table + " SET " + column + " = ? WHERE id = ?";
+        int total = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Object[]> rows = missing.apply(PageRequest.of(0, BATCH_SIZE));
+                jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+                    ps.setString(1, GeoHash.encode((Double) row[1], (Double) row[2]));
+                    ps.setLong(2, (Long) row[0]);
+                });
+                return rows.size();
+            });
+            total += batch;
+        } while (batch == BATCH_SIZE);
+        return total;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demoapp.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-EntityManager-in-view for every MVC request except the chat long-poll. Replaces Spring Boot's own
+ * registration ({@code spring.jpa.open-in-view=false}), which cannot exclude paths.
+ * <p>
+ * An async request keeps its view EntityManager, and the JDBC connection it acquired, until the
+ * {@code DeferredResult} completes, so each parked poll would hold a pool connection for up to 30 s.
+ * {@link com.example.demoapp.service.ChatService#pollMessages} does its reads in a short transaction instead.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/api/chats/*/messages/poll");
+    }
+}
@@ -1,26 +1,58 @@
 package com.example.demoapp.config;
 
+import com.example.demoapp.datasource.ReadWriteRoutingDataSource;
+import com.example.demoapp.datasource.ReadYourWritesFilter;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * When railway profile is active, create DataSource only from DATABASE_URL.
  * This ensures we never use the default MySQL config on Railway.
+ * <p>
+ * If DATABASE_READ_URL is also set (a streaming replica of the same database), read-only transactions are
+ * routed to a second pool on it; see {@link ReadWriteRoutingDataSource} and {@link ReadYourWritesFilter}.
+ * <p>
+ * Pool sizing, timeouts and PgJDBC statement settings come from {@link DataSourcePoolProperties}. Both pools
+ * report {@code hikaricp.connections.*} meters (tagged {@code pool=primary|replica}) to the actuator metrics
+ * endpoint; they are registered here because the replica pool is not a bean Spring Boot would instrument.
  */
 @Configuration
 @Profile("railway")
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+@RequiredArgsConstructor
 public class RailwayDataSourceConfig {
 
+    private final DataSourcePoolProperties poolProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @Value("${DATABASE_URL:}")
     private String databaseUrl;
 
+    @Value("${DATABASE_READ_URL:}")
+    private String databaseReadUrl;
+
+    @Value("${app.datasource.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
     @Bean
     public DataSource dataSource() {
         if (databaseUrl == null || databaseUrl.isBlank()) {
@@ -30,10 +62,33 @@ public class RailwayDataSourceConfig {
                 + "Then redeploy."
             );
         }
+        HikariDataSource primary = pool("DATABASE_URL", databaseUrl, "primary", false);
+        if (!hasReplica()) {
+            return primary;
+        }
+        HikariDataSource replica = pool("DATABASE_READ_URL", databaseReadUrl, "replica", true);
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(hasReplica(), Duration.ofMillis(readYourWritesMs));
+    }
+
+    @PreDestroy
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private boolean hasReplica() {
+        return databaseReadUrl != null && !databaseReadUrl.isBlank();
+    }
+
+    private HikariDataSource pool(String variable, String url, String poolName, boolean readOnly) {
         try {
-            URI uri = URI.create(databaseUrl);
+            URI uri = URI.create(url);
             if (uri.getScheme() == null || !uri.getScheme().startsWith("postgres")) {
-                throw new IllegalStateException("DATABASE_URL must be a PostgreSQL URL (postgresql://...). Got: " + (uri.getScheme() != null ? uri.getScheme() : "null"));
+                throw new IllegalStateException(variable + " must be a PostgreSQL URL (postgresql://...). Got: " + (uri.getScheme() != null ? uri.getScheme() : "null"));
             }
             String username = uri.getUserInfo() != null ? uri.getUserInfo().split(":")[0] : "";
             String password = uri.getUserInfo() != null && uri.getUserInfo().contains(":")
@@ -61,14 +116,38 @@ public class RailwayDataSourceConfig {
             }
 
             HikariConfig config = new HikariConfig();
+            config.setPoolName(poolName);
             config.setJdbcUrl(jdbcUrl);
             config.setUsername(username);
             config.setPassword(password);
             config.setDriverClassName("org.postgresql.Driver");
-            return new HikariDataSource(config);
+            config.setReadOnly(readOnly);
+            applyPoolSettings(config, readOnly);
+            HikariDataSource pool = new HikariDataSource(config);
+            pools.add(pool);
+            return pool;
         } catch (Exception e) {
             if (e instanceof IllegalStateException) throw (IllegalStateException) e;
-            throw new IllegalStateException("Invalid DATABASE_URL. Set it to your Postgres connection URL in Railway Variables.", e);
+            throw new IllegalStateException("Invalid " + variable + ". Set it to your Postgres connection URL in Railway Variables.", e);
+        }
+    }
+
+    private void applyPoolSettings(HikariConfig config, boolean replica) {
+        DataSourcePoolProperties p = poolProperties;
+        config.setMaximumPoolSize(replica ? p.getReplicaMaximumPoolSize() : p.getMaximumPoolSize());
+        config.setMinimumIdle(Math.min(p.getMinimumIdle(), config.getMaximumPoolSize()));
+        config.setConnectionTimeout(p.getConnectionTimeoutMs());
+        config.setIdleTimeout(p.getIdleTimeoutMs());
+        config.setMaxLifetime(p.getMaxLifetimeMs());
+        config.setLeakDetectionThreshold(p.getLeakDetectionThresholdMs());
+        // Driver properties; a parameter already present in the URL's query string wins over these
+        config.addDataSourceProperty("prepareThreshold", p.getPrepareThreshold());
+        config.addDataSourceProperty("preparedStatementCacheQueries", p.getPreparedStatementCacheQueries());
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", p.getPreparedStatementCacheSizeMb());
+        config.addDataSourceProperty("reWriteBatchedInserts", p.isReWriteBatchedInserts());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
         }
     }
 }
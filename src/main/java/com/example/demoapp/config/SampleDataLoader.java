@@ -2,6 +2,7 @@ package com.example.demoapp.config;
 
 import com.example.demoapp.entity.*;
 import com.example.demoapp.repository.*;
+import com.example.demoapp.service.MahirRatingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
@@ -50,6 +51,7 @@ public class SampleDataLoader implements ApplicationRunner {
     private final ChatThreadRepository chatThreadRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ReviewRepository reviewRepository;
+    private final MahirRatingService mahirRatingService;
 
     @Override
     @Transactional
@@ -235,6 +237,7 @@ public class SampleDataLoader implements ApplicationRunner {
                     .rating(5)
                     .comment("Always punctual and thorough. Studio smells fresh every time.")
                     .build());
+            mahirRatingService.recordChange(sofia.getId(), null, 5);
 
             log.info("Sample data loaded: customers, Mahirs, jobs, bookings, chat, review. "
                             + "Customer login: {} / {} | Admin: {} / {}",
@@ -352,5 +355,8 @@ public class SampleDataLoader implements ApplicationRunner {
                 .content(content)
                 .createdAt(createdAt)
                 .build());
+        boolean fromCustomer = thread.getBooking().getCustomer().getId().equals(sender.getId());
+        String preview = content.length() > 80 ? content.substring(0, 80) + "..." : content;
+        chatThreadRepository.recordMessage(thread.getId(), createdAt, preview, fromCustomer ? 0 : 1, fromCustomer ? 1 : 0);
     }
 }
@@ -0,0 +1,397 @@
+package com.example.demoapp.config;
+
+import com.example.demoapp.entity.AccountType;
+import com.example.demoapp.entity.BidStatus;
+import com.example.demoapp.entity.BookingStatus;
+import com.example.demoapp.entity.JobStatus;
+import com.example.demoapp.entity.Role;
+import com.example.demoapp.geo.GeoHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk synthetic dataset for load and scaling tests: {@code users} accounts (a share of them Mahirs), {@code jobs}
+ * jobs with {@code bids-per-job} bids each, a booking and chat thread with {@code messages-per-thread} messages for
+ * every assigned or completed job, and enough completed jobs for {@code reviews-per-mahir} reviews per Mahir.
+ * Rows are written with batched JDBC inserts in chunks of {@code batch-size}, one transaction per chunk, with ids
+ * assigned here (after the current maximum) so children can reference parents without reading them back; identity
+ * sequences are moved past the new rows at the end. Denormalized columns (job bid counts, chat thread previews,
+ * Mahir rating stats, geohashes) are written consistently with the rows.
+ * <p>
+ * Enable with {@code app.synthetic-data.enabled=true} (or {@code APP_SYNTHETIC_DATA=true}). Every account is
+ * {@code user<n>@synthetic.test} with password {@code app.synthetic-data.password}; accounts {@code 0 .. mahirs-1}
+ * are Mahirs. Generation is deterministic for a given {@code seed}. Skipped if {@code user0@synthetic.test} exists.
+ */
+@Component
+@Order(300)
+@ConditionalOnProperty(name = "app.synthetic-data.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    public static final String EMAIL_DOMAIN = "synthetic.test";
+
+    private static final double[][] CITIES = {
+            {36.8065, 10.1815}, {35.8256, 10.6411}, {34.7406, 10.7603}, {37.2744, 9.8739}, {33.8869, 10.0982}};
+    private static final String[] FIRST_NAMES = {
+            "Nadia", "Mohamed", "Leila", "Ahmed", "Sofia", "Karim", "Priya", "Yanis", "Sami", "Amira", "Omar", "Ines"};
+    private static final String[] LAST_NAMES = {
+            "Mansour", "Trabelsi", "Hamdi", "Hassen", "Ben Youssef", "Mezzi", "Nair", "Bouazizi", "Dridi", "Jaziri"};
+    private static final String[] JOB_TITLES = {
+            "Fix leaking pipe", "Install ceiling lights", "Deep clean apartment", "Repair wooden door",
+            "Repaint living room", "Service split AC unit", "Treat kitchen for ants", "Move furniture to new flat",
+            "Mount TV on wall", "Replace bathroom tiles"};
+    private static final String[] MESSAGES = {
+            "Hello, is the time still OK for you?", "Yes, see you then.", "Can you send a photo of the problem?",
+            "Sent. It started yesterday evening.", "I will bring the parts, about one hour of work.", "Great, thanks!"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.synthetic-data.users:10000}")
+    private int users;
+
+    /** Percentage of {@code users} that are Mahirs. */
+    @Value("${app.synthetic-data.mahir-percent:30}")
+    private int mahirPercent;
+
+    @Value("${app.synthetic-data.jobs:20000}")
+    private int jobs;
+
+    @Value("${app.synthetic-data.bids-per-job:5}")
+    private int bidsPerJob;
+
+    @Value("${app.synthetic-data.messages-per-thread:10}")
+    private int messagesPerThread;
+
+    @Value("${app.synthetic-data.reviews-per-mahir:3}")
+    private int reviewsPerMahir;
+
+    /** Share (percent) of the jobs left after the reviewed ones that are assigned; another 5% are cancelled. */
+    @Value("${app.synthetic-data.assigned-percent:15}")
+    private int assignedPercent;
+
+    /** Rows are spread over this many days back from now. */
+    @Value("${app.synthetic-data.history-days:365}")
+    private int historyDays;
+
+    @Value("${app.synthetic-data.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.synthetic-data.seed:42}")
+    private long seed;
+
+    @Value("${app.synthetic-data.password:" + SampleDataLoader.SEED_PLAINTEXT_PASSWORD + "}")
+    private String password;
+
+    private final Random random = new Random();
+    private Instant now;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, "user0@" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already present, skipping.");
+            return;
+        }
+        if (users < 2) {
+            log.warn("Synthetic data skipped: app.synthetic-data.users must be at least 2 (one Mahir, one customer).");
+            return;
+        }
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+        if (categoryIds.isEmpty()) {
+            log.warn("Synthetic data skipped: no categories (CategoryDataLoader may have failed).");
+            return;
+        }
+        random.setSeed(seed);
+        now = Instant.now();
+        long started = System.currentTimeMillis();
+
+        int mahirs = Math.max(1, Math.min(users - 1, users * mahirPercent / 100));
+        int customers = users - mahirs;
+        int bidsEach = Math.min(bidsPerJob, mahirs);
+        int completed = (int) Math.min(jobs, (long) mahirs * reviewsPerMahir);
+        int assigned = (jobs - completed) * assignedPercent / 100;
+        int cancelled = (jobs - completed) * 5 / 100;
+        int booked = completed + assigned;
+
+        long userBase = nextId("users");
+        long jobBase = nextId("jobs");
+        long bidBase = nextId("bids");
+        long bookingBase = nextId("bookings");
+        long threadBase = nextId("chat_threads");
+        long messageBase = nextId("chat_messages");
+        long reviewBase = nextId("reviews");
+
+        String passwordHash = passwordEncoder.encode(password);
+        long[] userCreated = new long[users];
+        insert("users", "INSERT INTO users (id, full_name, email, password, phone_number, street_address, latitude, "
+                + "longitude, geohash, account_type, account_status, role, blocked, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, FALSE, ?)", users, (ps, i) -> {
+            boolean mahir = i < mahirs;
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            double lat = city[0] + (random.nextDouble() - 0.5) * 0.2;
+            double lng = city[1] + (random.nextDouble() - 0.5) * 0.2;
+            userCreated[(int) i] = daysAgo(historyDays);
+            ps.setLong(1, userBase + i);
+            ps.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            ps.setString(3, "user" + i + "@" + EMAIL_DOMAIN);
+            ps.setString(4, passwordHash);
+            ps.setString(5, String.format("+216 %08d", i % 100_000_000));
+            ps.setString(6, "Street " + (1 + random.nextInt(200)));
+            ps.setDouble(7, lat);
+            ps.setDouble(8, lng);
+            ps.setString(9, GeoHash.encode(lat, lng));
+            ps.setString(10, (random.nextInt(5) == 0 ? AccountType.PREMIUM : AccountType.FREEMIUM).name());
+            ps.setString(11, (mahir ? Role.MAHIR : Role.USER).name());
+            ps.setTimestamp(12, new Timestamp(userCreated[(int) i]));
+        });
+
+        int categories = categoryIds.size();
+        int categoriesPerMahir = Math.min(2, categories);
+        insert("user_service_categories", "INSERT INTO user_service_categories (user_id, category_id) VALUES (?, ?)",
+                (long) mahirs * categoriesPerMahir, (ps, i) -> {
+                    int mahir = (int) (i / categoriesPerMahir);
+                    int slot = (int) (i % categoriesPerMahir);
+                    ps.setLong(1, userBase + mahir);
+                    ps.setLong(2, categoryIds.get((mahir + slot) % categories));
+                });
+
+        // Per job: poster, first bidder (the winner for booked jobs), creation time. Needed by the child tables.
+        long[] poster = new long[jobs];
+        int[] firstBidder = new int[jobs];
+        long[] jobCreated = new long[jobs];
+        insert("jobs", "INSERT INTO jobs (id, posted_by_id, category_id, title, description, job_street_address, "
+                + "job_latitude, job_longitude, job_geohash, scheduled_at, budget_min, budget_max, duration_hours, "
+                + "status, hidden_from_public, moderation_blocked, bid_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, FALSE, ?, ?, ?)", jobs, (ps, i) -> {
+            int j = (int) i;
+            JobStatus status = j < completed ? JobStatus.COMPLETED
+                    : j < booked ? JobStatus.ASSIGNED
+                    : j < booked + cancelled ? JobStatus.CANCELLED
+                    : JobStatus.OPEN;
+            int customer = mahirs + random.nextInt(customers);
+            poster[j] = userBase + customer;
+            firstBidder[j] = j < completed ? j % mahirs : random.nextInt(mahirs);
+            jobCreated[j] = Math.max(userCreated[customer], daysAgo(historyDays));
+            if (j < booked) {
+                // Leave room for the booking, chat and review that follow, so none of them lies in the future
+                jobCreated[j] = Math.min(jobCreated[j], now.toEpochMilli() - Duration.ofDays(4).toMillis());
+            }
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            double lat = city[0] + (random.nextDouble() - 0.5) * 0.2;
+            double lng = city[1] + (random.nextDouble() - 0.5) * 0.2;
+            int budget = 50 + random.nextInt(20) * 25;
+            ps.setLong(1, jobBase + j);
+            ps.setLong(2, poster[j]);
+            ps.setLong(3, categoryIds.get(random.nextInt(categories)));
+            ps.setString(4, JOB_TITLES[random.nextInt(JOB_TITLES.length)]);
+            ps.setString(5, "Synthetic job " + j + ". Access from the main entrance, tools on site.");
+            ps.setString(6, "Street " + (1 + random.nextInt(200)));
+            ps.setDouble(7, lat);
+            ps.setDouble(8, lng);
+            ps.setString(9, GeoHash.encode(lat, lng));
+            ps.setTimestamp(10, new Timestamp(jobCreated[j] + Duration.ofDays(1 + random.nextInt(14)).toMillis()));
+            ps.setBigDecimal(11, BigDecimal.valueOf(budget));
+            ps.setBigDecimal(12, BigDecimal.valueOf(budget * 2L));
+            ps.setInt(13, 1 + random.nextInt(8));
+            ps.setString(14, status.name());
+            ps.setInt(15, bidsEach);
+            ps.setTimestamp(16, new Timestamp(jobCreated[j]));
+            ps.setTimestamp(17, new Timestamp(jobCreated[j]));
+        });
+
+        insert("bids", "INSERT INTO bids (id, job_id, mahir_id, message, proposed_price, proposed_at, "
+                + "estimated_duration_hours, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (long) jobs * bidsEach, (ps, i) -> {
+                    int j = (int) (i / bidsEach);
+                    int t = (int) (i % bidsEach);
+                    // Consecutive Mahirs from the first bidder: distinct within a job, so (job_id, mahir_id) is unique
+                    int mahir = (firstBidder[j] + t) % mahirs;
+                    BidStatus status = j >= booked ? (j < booked + cancelled ? BidStatus.REJECTED : BidStatus.PENDING)
+                            : t == 0 ? BidStatus.ACCEPTED : BidStatus.REJECTED;
+                    long created = jobCreated[j] + Duration.ofMinutes(10 + random.nextInt(600)).toMillis();
+                    ps.setLong(1, bidBase + i);
+                    ps.setLong(2, jobBase + j);
+                    ps.setLong(3, userBase + mahir);
+                    ps.setString(4, "I can do this, available this week.");
+                    ps.setBigDecimal(5, BigDecimal.valueOf(60 + random.nextInt(40) * 10));
+                    ps.setTimestamp(6, new Timestamp(created + Duration.ofDays(2).toMillis()));
+                    ps.setInt(7, 1 + random.nextInt(6));
+                    ps.setString(8, status.name());
+                    ps.setTimestamp(9, new Timestamp(created));
+                });
+
+        insert("bookings", "INSERT INTO bookings (id, customer_id, mahir_id, job_id, bid_id, agreed_price, status, "
+                + "scheduled_at, message, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                booked, (ps, i) -> {
+                    int j = (int) i;
+                    long created = bookedAt(jobCreated[j]);
+                    ps.setLong(1, bookingBase + j);
+                    ps.setLong(2, poster[j]);
+                    ps.setLong(3, userBase + firstBidder[j]);
+                    ps.setLong(4, jobBase + j);
+                    if (bidsEach > 0) {
+                        ps.setLong(5, bidBase + (long) j * bidsEach);
+                    } else {
+                        ps.setNull(5, Types.BIGINT);
+                    }
+                    ps.setBigDecimal(6, BigDecimal.valueOf(60 + random.nextInt(40) * 10));
+                    ps.setString(7, (j < completed ? BookingStatus.COMPLETED : BookingStatus.ACCEPTED).name());
+                    ps.setTimestamp(8, new Timestamp(created + Duration.ofDays(2).toMillis()));
+                    ps.setString(9, "I can do this, available this week.");
+                    ps.setTimestamp(10, new Timestamp(created));
+                    ps.setTimestamp(11, new Timestamp(created));
+                });
+
+        String lastMessage = MESSAGES[(messagesPerThread - 1 + MESSAGES.length) % MESSAGES.length];
+        insert("chat_threads", "INSERT INTO chat_threads (id, booking_id, created_at, last_message_at, "
+                + "last_message_preview, customer_unread_count, mahir_unread_count) VALUES (?, ?, ?, ?, ?, 0, 0)",
+                booked, (ps, i) -> {
+                    int j = (int) i;
+                    long created = bookedAt(jobCreated[j]);
+                    ps.setLong(1, threadBase + j);
+                    ps.setLong(2, bookingBase + j);
+                    ps.setTimestamp(3, new Timestamp(created));
+                    if (messagesPerThread > 0) {
+                        ps.setTimestamp(4, new Timestamp(messageAt(created, messagesPerThread - 1)));
+                        ps.setString(5, lastMessage);
+                    } else {
+                        ps.setNull(4, Types.TIMESTAMP);
+                        ps.setNull(5, Types.VARCHAR);
+                    }
+                });
+
+        insert("chat_messages", "INSERT INTO chat_messages (id, thread_id, sender_id, content, created_at, read_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", (long) booked * messagesPerThread, (ps, i) -> {
+            int j = (int) (i / messagesPerThread);
+            int m = (int) (i % messagesPerThread);
+            long created = messageAt(bookedAt(jobCreated[j]), m);
+            ps.setLong(1, messageBase + i);
+            ps.setLong(2, threadBase + j);
+            ps.setLong(3, m % 2 == 0 ? poster[j] : userBase + firstBidder[j]);
+            ps.setString(4, MESSAGES[m % MESSAGES.length]);
+            ps.setTimestamp(5, new Timestamp(created));
+            ps.setTimestamp(6, new Timestamp(created + 60_000));
+        });
+
+        long[][] stars = new long[mahirs][5];
+        insert("reviews", "INSERT INTO reviews (id, booking_id, reviewer_id, mahir_id, rating, comment, "
+                + "hidden_from_public, created_at) VALUES (?, ?, ?, ?, ?, ?, FALSE, ?)", completed, (ps, i) -> {
+            int j = (int) i;
+            int rating = Math.min(5, 3 + random.nextInt(3) + (random.nextInt(4) == 0 ? -1 : 0));
+            stars[firstBidder[j]][rating - 1]++;
+            ps.setLong(1, reviewBase + j);
+            ps.setLong(2, bookingBase + j);
+            ps.setLong(3, poster[j]);
+            ps.setLong(4, userBase + firstBidder[j]);
+            ps.setInt(5, rating);
+            ps.setString(6, rating >= 4 ? "Quick and tidy work." : "Job done, arrived late.");
+            ps.setTimestamp(7, new Timestamp(bookedAt(jobCreated[j]) + Duration.ofDays(3).toMillis()));
+        });
+
+        int rated = completed == 0 ? 0 : Math.min(mahirs, completed);
+        insert("mahir_rating_stats", "INSERT INTO mahir_rating_stats (mahir_id, rating_sum, rating_count, stars_1, "
+                + "stars_2, stars_3, stars_4, stars_5, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rated, (ps, i) -> {
+            long[] s = stars[(int) i];
+            ps.setLong(1, userBase + i);
+            ps.setLong(2, s[0] + 2 * s[1] + 3 * s[2] + 4 * s[3] + 5 * s[4]);
+            ps.setLong(3, s[0] + s[1] + s[2] + s[3] + s[4]);
+            for (int k = 0; k < 5; k++) {
+                ps.setLong(4 + k, s[k]);
+            }
+            ps.setTimestamp(9, Timestamp.from(now));
+        });
+
+        for (String table : List.of("users", "jobs", "bids", "bookings", "chat_threads", "chat_messages", "reviews")) {
+            moveIdentityPastMax(table);
+        }
+        log.info("Synthetic data loaded: {} users ({} Mahirs), {} jobs, {} bids, {} bookings, {} messages, {} reviews "
+                        + "in {} s", users, mahirs, jobs, (long) jobs * bidsEach, booked,
+                (long) booked * messagesPerThread, completed, (System.currentTimeMillis() - started) / 1000);
+    }
+
+    /** Writes {@code rows} rows in chunks of {@code batchSize}, each chunk one JDBC batch in its own transaction. */
+    private void insert(String table, String sql, long rows, RowWriter writer) {
+        long started = System.currentTimeMillis();
+        for (long from = 0; from < rows; from += batchSize) {
+            long offset = from;
+            int size = (int) Math.min(batchSize, rows - from);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            writer.write(ps, offset + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    }));
+        }
+        if (rows > 0) {
+            log.info("Synthetic data: {} rows into {} ({} ms)", rows, table, System.currentTimeMillis() - started);
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max != null ? max : 0) + 1;
+    }
+
+    /** Identity columns keep counting from their own sequence, not from the explicit ids inserted above. */
+    private void moveIdentityPastMax(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (max == null || max == 0) return;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?)", Long.class, table, max);
+        } else if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (max + 1));
+        }
+        // MySQL: AUTO_INCREMENT already continues after the largest inserted id
+    }
+
+    private long daysAgo(int maxDays) {
+        return now.toEpochMilli() - (long) (random.nextDouble() * Duration.ofDays(maxDays).toMillis());
+    }
+
+    /** Deterministic in the job's creation time, so bookings, threads, messages and reviews agree on it. */
+    private static long bookedAt(long jobCreated) {
+        return jobCreated + Duration.ofHours(6).toMillis();
+    }
+
+    private static long messageAt(long threadCreated, int index) {
+        return threadCreated + Duration.ofMinutes(7L * (index + 1)).toMillis();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long row) throws SQLException;
+    }
+}
@@ -38,11 +38,17 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getDashboardSummary());
     }
 
+    @GetMapping("/caches")
+    public ResponseEntity<List<AdminCacheStatsResponse>> cacheStats() {
+        return ResponseEntity.ok(adminService.listCacheStats());
+    }
+
     @GetMapping("/dashboard/engagement")
     public ResponseEntity<AdminEngagementResponse> dashboardEngagement(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
-        return ResponseEntity.ok(adminService.getDashboardEngagement(from, to));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) AdminEngagementResponse.Granularity granularity) {
+        return ResponseEntity.ok(adminService.getDashboardEngagement(from, to, granularity));
     }
 
     @GetMapping("/banners")
@@ -0,0 +1,33 @@
+package com.example.demoapp.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/** Conditional GET for the public catalog controllers (ETags from {@code CatalogVersions}). */
+final class CatalogResponses {
+
+    private CatalogResponses() {
+    }
+
+    /**
+     * 304 with no body when {@code If-None-Match} matches {@code etag}; the body supplier is not called, so
+     * nothing is serialized. Otherwise 200 with the body, the ETag and {@code cacheControl}.
+     *
+     * @param varyBy request headers the representation depends on, if any
+     */
+    static <T> ResponseEntity<T> conditional(WebRequest request, String etag, CacheControl cacheControl,
+                                             Supplier<T> body, String... varyBy) {
+        boolean notModified = request.checkNotModified(etag);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (varyBy.length > 0) {
+            builder.varyBy(varyBy);
+        }
+        return notModified ? builder.build() : builder.body(body.get());
+    }
+}
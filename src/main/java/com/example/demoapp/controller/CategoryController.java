@@ -1,18 +1,20 @@
 package com.example.demoapp.controller;
 
+import com.example.demoapp.catalog.CatalogVersions;
 import com.example.demoapp.catalog.ServiceCategoryCatalog;
 import com.example.demoapp.dto.CategoryResponse;
-import com.example.demoapp.entity.Category;
-import com.example.demoapp.repository.CategoryRepository;
+import com.example.demoapp.service.CatalogService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -20,30 +22,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CategoryController {
 
-    private final CategoryRepository categoryRepository;
+    /** The category set only changes with a deploy; clients may reuse it for an hour before revalidating. */
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+
+    private final CatalogService catalogService;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Returns exactly the 17 canonical categories in app order (not alphabetical).
-     * Omits any DB row whose name is not in {@link ServiceCategoryCatalog}.
+     * Omits any DB row whose name is not in {@link ServiceCategoryCatalog}. Supports {@code If-None-Match}.
      */
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAll() {
-        List<CategoryResponse> list = new ArrayList<>(ServiceCategoryCatalog.CANONICAL_COUNT);
-        for (String name : ServiceCategoryCatalog.NAMES_IN_DISPLAY_ORDER) {
-            categoryRepository.findByName(name)
-                    .ifPresent(c -> list.add(toResponse(c)));
-        }
-        return ResponseEntity.ok(list);
-    }
-
-    private CategoryResponse toResponse(Category c) {
-        int idx = ServiceCategoryCatalog.NAMES_IN_DISPLAY_ORDER.indexOf(c.getName());
-        Integer sortOrder = idx >= 0 ? idx + 1 : null;
-        return CategoryResponse.builder()
-                .id(c.getId())
-                .name(c.getName())
-                .description(c.getDescription())
-                .sortOrder(sortOrder)
-                .build();
+    public ResponseEntity<List<CategoryResponse>> getAll(WebRequest request) {
+        List<CategoryResponse> categories = catalogService.listCategories();
+        return CatalogResponses.conditional(request,
+                catalogVersions.etag(CatalogVersions.Resource.CATEGORIES, categories, null),
+                CACHE_CONTROL, () -> categories);
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.example.demoapp.security.UserPrincipal;
 
@@ -43,15 +44,38 @@ public class ChatController {
         return ResponseEntity.ok(chatService.listMyThreads(principal.getUserId()));
     }
 
+    /**
+     * Page-number mode ({@code ?page=&size=}) returns a {@link Page}. Passing {@code before} and/or {@code limit}
+     * switches to keyset mode and returns a {@link com.example.demoapp.dto.CursorPageResponse} (no total count).
+     */
     @GetMapping("/chats/{threadId}/messages")
-    public ResponseEntity<Page<ChatMessageResponse>> getMessages(
+    public ResponseEntity<?> getMessages(
             @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long threadId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit,
             @PageableDefault(size = 50, sort = "createdAt") Pageable pageable) {
         if (principal == null) throw new com.example.demoapp.exception.UnauthorizedException("Authentication required");
+        if (before != null || limit != null) {
+            return ResponseEntity.ok(chatService.getMessagesBefore(threadId, principal.getUserId(), before, limit));
+        }
         return ResponseEntity.ok(chatService.getMessages(threadId, principal.getUserId(), pageable));
     }
 
+    /**
+     * Long-poll fallback for {@code /topic/chats/{threadId}}: returns messages with id greater than {@code after}
+     * as soon as one exists, or an empty list after {@code timeoutSeconds} (max 30).
+     */
+    @GetMapping("/chats/{threadId}/messages/poll")
+    public DeferredResult<List<ChatMessageResponse>> pollMessages(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable Long threadId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "25") long timeoutSeconds) {
+        if (principal == null) throw new com.example.demoapp.exception.UnauthorizedException("Authentication required");
+        return chatService.pollMessages(threadId, principal.getUserId(), after, timeoutSeconds);
+    }
+
     @PostMapping("/chats/{threadId}/messages")
     public ResponseEntity<ChatMessageResponse> sendMessage(
             @AuthenticationPrincipal UserPrincipal principal,
@@ -60,4 +84,14 @@ public class ChatController {
         if (principal == null) throw new com.example.demoapp.exception.UnauthorizedException("Authentication required");
         return ResponseEntity.ok(chatService.sendMessage(threadId, principal.getUserId(), request));
     }
+
+    /** Marks the other participant's messages as read and resets the caller's unread counter for this thread. */
+    @PatchMapping("/chats/{threadId}/read")
+    public ResponseEntity<Void> markRead(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable Long threadId) {
+        if (principal == null) throw new com.example.demoapp.exception.UnauthorizedException("Authentication required");
+        chatService.markThreadRead(threadId, principal.getUserId());
+        return ResponseEntity.noContent().build();
+    }
 }
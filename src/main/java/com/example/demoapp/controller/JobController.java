@@ -4,6 +4,7 @@ import com.example.demoapp.dto.JobRequest;
 import com.example.demoapp.dto.JobResponse;
 import com.example.demoapp.dto.JobUpdateRequest;
 import com.example.demoapp.entity.JobStatus;
+import com.example.demoapp.geo.GeoArea;
 import com.example.demoapp.security.UserPrincipal;
 import com.example.demoapp.service.JobService;
 import jakarta.validation.Valid;
@@ -40,13 +41,17 @@ public class JobController {
             @RequestParam(required = false) String filter,
             @RequestParam(required = false) JobStatus status,
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String q,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
         if (principal == null) throw new com.example.demoapp.exception.UnauthorizedException("Authentication required");
         Page<JobResponse> page;
         if ("my".equals(filter)) {
             page = jobService.listMyJobs(principal.getUserId(), status, pageable);
         } else {
-            page = jobService.listOpenJobs(categoryId, pageable);
+            page = jobService.listOpenJobs(categoryId, GeoArea.fromRequest(lat, lng, radiusKm), q, pageable);
         }
         return ResponseEntity.ok(page);
     }
@@ -1,6 +1,7 @@
 package com.example.demoapp.controller;
 
 import com.example.demoapp.dto.MahirResponse;
+import com.example.demoapp.geo.GeoArea;
 import com.example.demoapp.security.UserPrincipal;
 import com.example.demoapp.service.MahirSearchService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,10 +32,14 @@ public class MahirController {
     @GetMapping
     public ResponseEntity<Page<MahirResponse>> searchMahirs(
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
             @PageableDefault(size = 20, sort = "id") Pageable pageable,
             @AuthenticationPrincipal UserPrincipal principal) {
         boolean mask = !exposePiiWithoutAuth && principal == null;
-        Page<MahirResponse> page = mahirSearchService.searchMahirs(categoryId, pageable, mask);
+        GeoArea near = GeoArea.fromRequest(lat, lng, radiusKm);
+        Page<MahirResponse> page = mahirSearchService.searchMahirs(categoryId, near, pageable, mask);
         return ResponseEntity.ok(page);
     }
 
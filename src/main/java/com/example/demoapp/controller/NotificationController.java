@@ -1,6 +1,5 @@
 package com.example.demoapp.controller;
 
-import com.example.demoapp.dto.NotificationResponse;
 import com.example.demoapp.security.UserPrincipal;
 import com.example.demoapp.service.NotificationService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,11 +21,20 @@ public class NotificationController {
 
     private final NotificationService notificationService;
 
+    /**
+     * Page-number mode ({@code ?page=&size=}) returns a {@link Page}. Passing {@code before} and/or {@code limit}
+     * switches to keyset mode and returns a {@link com.example.demoapp.dto.CursorPageResponse} (no total count).
+     */
     @GetMapping
-    public ResponseEntity<Page<NotificationResponse>> listMy(
+    public ResponseEntity<?> listMy(
             @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
         if (principal == null) throw new com.example.demoapp.exception.UnauthorizedException("Authentication required");
+        if (before != null || limit != null) {
+            return ResponseEntity.ok(notificationService.listMyBefore(principal.getUserId(), before, limit));
+        }
         return ResponseEntity.ok(notificationService.listMy(principal.getUserId(), pageable));
     }
 
@@ -1,16 +1,20 @@
 package com.example.demoapp.controller;
 
+import com.example.demoapp.catalog.CatalogVersions;
 import com.example.demoapp.dto.BannerResponse;
 import com.example.demoapp.entity.Role;
 import com.example.demoapp.security.UserPrincipal;
 import com.example.demoapp.service.BannerService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,14 +24,25 @@ import java.util.List;
 @Tag(name = "Banners", description = "Home banners (optional JWT refines audience for USER/MAHIR)")
 public class PublicBannerController {
 
+    /** Depends on the caller's role and on banner windows, so clients revalidate every time (cheap 304). */
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final BannerService bannerService;
+    private final CatalogVersions catalogVersions;
 
+    /**
+     * Supports {@code If-None-Match}. The ETag covers admin edits, the caller's audience and the current banner
+     * window, so it changes when a scheduled banner starts or ends.
+     */
     @GetMapping
-    public ResponseEntity<List<BannerResponse>> list(@AuthenticationPrincipal UserPrincipal principal) {
+    public ResponseEntity<List<BannerResponse>> list(@AuthenticationPrincipal UserPrincipal principal, WebRequest request) {
         Role role = null;
         if (principal != null && (principal.getRole() == Role.USER || principal.getRole() == Role.MAHIR)) {
             role = principal.getRole();
         }
-        return ResponseEntity.ok(bannerService.listActiveForHome(role));
+        BannerService.HomeBanners banners = bannerService.getHomeBanners(role);
+        String etag = catalogVersions.etag(CatalogVersions.Resource.BANNERS, banners.getBanners(),
+                BannerService.homeBannersKey(role).toLowerCase());
+        return CatalogResponses.conditional(request, etag, CACHE_CONTROL, banners::getBanners, HttpHeaders.AUTHORIZATION);
     }
 }
@@ -1,15 +1,19 @@
 package com.example.demoapp.controller;
 
+import com.example.demoapp.catalog.CatalogVersions;
 import com.example.demoapp.dto.FaqResponse;
-import com.example.demoapp.repository.FaqRepository;
+import com.example.demoapp.service.CatalogService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/faqs")
@@ -17,17 +21,16 @@ import java.util.stream.Collectors;
 @Tag(name = "FAQs", description = "Public FAQ list for the app")
 public class PublicFaqController {
 
-    private final FaqRepository faqRepository;
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
 
+    private final CatalogService catalogService;
+    private final CatalogVersions catalogVersions;
+
+    /** Supports {@code If-None-Match}; the ETag changes whenever an admin edits an FAQ. */
     @GetMapping
-    public List<FaqResponse> listActive() {
-        return faqRepository.findByActiveTrueOrderBySortOrderAsc().stream()
-                .map(f -> FaqResponse.builder()
-                        .id(f.getId())
-                        .question(f.getQuestion())
-                        .answer(f.getAnswer())
-                        .sortOrder(f.getSortOrder())
-                        .build())
-                .collect(Collectors.toList());
+    public ResponseEntity<List<FaqResponse>> listActive(WebRequest request) {
+        List<FaqResponse> faqs = catalogService.listActiveFaqs();
+        return CatalogResponses.conditional(request, catalogVersions.etag(CatalogVersions.Resource.FAQS, faqs, null),
+                CACHE_CONTROL, () -> faqs);
     }
 }
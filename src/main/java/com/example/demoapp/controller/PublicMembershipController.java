@@ -1,17 +1,22 @@
 package com.example.demoapp.controller;
 
+import com.example.demoapp.catalog.CatalogVersions;
 import com.example.demoapp.dto.MembershipPlanResponse;
-import com.example.demoapp.entity.MembershipPlan;
-import com.example.demoapp.repository.MembershipPlanRepository;
+import com.example.demoapp.service.CatalogService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import com.example.demoapp.entity.PlanAudience;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,23 +25,32 @@ import java.util.stream.Collectors;
 @Tag(name = "Membership plans (public)", description = "Active plans for customers / Mahirs to view in-app")
 public class PublicMembershipController {
 
-    private final MembershipPlanRepository membershipPlanRepository;
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+    private final CatalogService catalogService;
+    private final CatalogVersions catalogVersions;
 
     /**
-     * Active plans ordered by sortOrder.
+     * Active plans ordered by sortOrder. Supports {@code If-None-Match} (one ETag per audience filter).
      *
      * @param audience optional: {@code MAHIR} → only plans with audience MAHIR or BOTH (for Mahir app pricing).
      */
     @GetMapping
-    public List<MembershipPlanResponse> listActive(
-            @RequestParam(required = false) String audience) {
-        return membershipPlanRepository.findByActiveTrueOrderBySortOrderAsc().stream()
-                .filter(p -> passesAudienceFilter(p, audience))
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<MembershipPlanResponse>> listActive(
+            @RequestParam(required = false) String audience,
+            WebRequest request) {
+        String variant = audience == null ? null : switch (audience.trim().toUpperCase(Locale.ROOT)) {
+            case "MAHIR", "USER" -> audience.trim().toLowerCase(Locale.ROOT);
+            default -> null; // unfiltered
+        };
+        List<MembershipPlanResponse> plans = catalogService.listActivePlans();
+        return CatalogResponses.conditional(request, catalogVersions.etag(CatalogVersions.Resource.PLANS, plans, variant),
+                CACHE_CONTROL, () -> plans.stream()
+                        .filter(p -> passesAudienceFilter(p, audience))
+                        .collect(Collectors.toList()));
     }
 
-    private boolean passesAudienceFilter(MembershipPlan p, String audienceParam) {
+    private boolean passesAudienceFilter(MembershipPlanResponse p, String audienceParam) {
         if (audienceParam == null || audienceParam.isBlank()) {
             return true;
         }
@@ -48,21 +62,4 @@ public class PublicMembershipController {
         }
         return true;
     }
-
-    private MembershipPlanResponse toResponse(MembershipPlan p) {
-        return MembershipPlanResponse.builder()
-                .id(p.getId())
-                .name(p.getName())
-                .code(p.getCode())
-                .description(p.getDescription())
-                .audience(p.getAudience())
-                .priceMonthly(p.getPriceMonthly())
-                .currency(p.getCurrency())
-                .featuresText(p.getFeaturesText())
-                .active(p.isActive())
-                .sortOrder(p.getSortOrder())
-                .createdAt(p.getCreatedAt())
-                .updatedAt(p.getUpdatedAt())
-                .build();
-    }
 }
@@ -0,0 +1,58 @@
+package com.example.demoapp.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions ({@code @Transactional(readOnly = true)}) to the replica pool and
+ * everything else (writes, non-transactional access, Flyway) to the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before it publishes the read-only flag, and the proxy defers the real lookup to the first statement.
+ * <p>
+ * Code that must see its own just-committed writes (or those of the current user) opens a {@link #pinToPrimary()}
+ * scope; read-only transactions inside it also use the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Routes every connection taken by this thread to the primary until the returned scope is closed. Scopes
+     * nest; harmless when no replica is configured.
+     */
+    public static PrimaryScope pinToPrimary() {
+        Boolean outer = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (outer == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(outer);
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED.get() == null
+                ? Target.REPLICA
+                : Target.PRIMARY;
+    }
+
+    /** {@link AutoCloseable} without the checked exception, for try-with-resources. */
+    public interface PrimaryScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
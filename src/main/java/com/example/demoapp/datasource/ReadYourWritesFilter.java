@@ -0,0 +1,64 @@
+package com.example.demoapp.datasource;
+
+import com.example.demoapp.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes for replica routing: a user's write requests, and every request they make during the
+ * following window, run pinned to the primary (see {@link ReadWriteRoutingDataSource#pinToPrimary()}), so a
+ * list fetched right after a create or update cannot come from a replica that has not replayed it yet.
+ * Runs after Spring Security, which has resolved the user by then. Anonymous requests are never pinned.
+ * <p>
+ * The window is per instance; with several replicas of the app behind a load balancer, a follow-up request
+ * landing on another instance is routed normally.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final boolean enabled;
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(boolean enabled, Duration window) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = enabled ? currentUserId() : null;
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (userId == null || (!write && recentWriters.getIfPresent(userId) == null)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+            chain.doFilter(request, response);
+        } finally {
+            if (write) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserPrincipal p ? p.getUserId() : null;
+    }
+}
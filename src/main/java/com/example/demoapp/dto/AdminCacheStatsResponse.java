@@ -0,0 +1,19 @@
+package com.example.demoapp.dto;
+
+import lombok.*;
+
+/** Hit/miss counters for one in-process cache since startup ({@code GET /api/admin/caches}). */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminCacheStatsResponse {
+
+    private String name;
+    private long size;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+}
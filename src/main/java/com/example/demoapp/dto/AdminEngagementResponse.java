@@ -11,9 +11,17 @@ import java.util.List;
 @Builder
 public class AdminEngagementResponse {
 
+    private Granularity granularity;
+    /** One entry per bucket (hour, day or week, despite the name), oldest first, empty buckets included. */
     private List<DailyCount> chatMessagesByDay;
     private List<DailyCount> newRegistrationsByDay;
 
+    public enum Granularity {
+        HOUR,   // date = 2024-05-01T13:00
+        DAY,    // date = 2024-05-01
+        WEEK    // date = Monday of the ISO week
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
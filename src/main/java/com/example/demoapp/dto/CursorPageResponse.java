@@ -0,0 +1,37 @@
+package com.example.demoapp.dto;
+
+import lombok.*;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset page for {@code ?before=&limit=} endpoints. No total count is computed;
+ * pass {@code nextBefore} as {@code before} to fetch the next (older) page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int limit;
+    private boolean hasMore;
+    /** Id of the oldest item in this page; null when there are no more items. */
+    private Long nextBefore;
+
+    public static <T> CursorPageResponse<T> fromSlice(Slice<T> slice, Function<T, Long> idOf) {
+        List<T> items = slice.getContent();
+        Long next = slice.hasNext() && !items.isEmpty() ? idOf.apply(items.get(items.size() - 1)) : null;
+        return CursorPageResponse.<T>builder()
+                .content(items)
+                .limit(slice.getSize())
+                .hasMore(slice.hasNext())
+                .nextBefore(next)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demoapp.dto;
 
 import com.example.demoapp.entity.JobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -33,4 +34,8 @@ public class JobResponse {
     private Boolean moderationBlocked;
     private Instant createdAt;
     private Instant updatedAt;
+
+    /** Distance from the search point in km; only present for {@code GET /api/jobs?lat=&lng=}. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
 }
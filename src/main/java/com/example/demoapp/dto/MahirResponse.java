@@ -55,6 +55,11 @@ public class MahirResponse {
     @JsonAlias("review_count")
     private Long reviewCount;
 
+    /** Great-circle distance from the search point; only present when searching with lat/lng. */
+    @JsonProperty("distanceKm")
+    @JsonAlias("distance_km")
+    private Double distanceKm;
+
     /** Stable role label for clients (always MAHIR for this resource). */
     @JsonProperty("role")
     private String role;
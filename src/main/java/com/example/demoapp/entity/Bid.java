@@ -8,7 +8,10 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bids", uniqueConstraints = @UniqueConstraint(columnNames = { "job_id", "mahir_id" }))
+@Table(name = "bids", uniqueConstraints = @UniqueConstraint(columnNames = { "job_id", "mahir_id" }), indexes = {
+        @Index(name = "idx_bids_job_created", columnList = "job_id, created_at DESC"),
+        @Index(name = "idx_bids_mahir_created", columnList = "mahir_id, created_at DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -7,7 +7,12 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_bid", columnList = "bid_id"),
+        @Index(name = "idx_bookings_job", columnList = "job_id"),
+        @Index(name = "idx_bookings_customer_created", columnList = "customer_id, created_at DESC"),
+        @Index(name = "idx_bookings_mahir_created", columnList = "mahir_id, created_at DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_messages_thread_created", columnList = "thread_id, created_at DESC, id DESC"),
+        @Index(name = "idx_chat_messages_created", columnList = "created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +25,23 @@ public class ChatThread {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    /** Denormalized from the newest message so the inbox can render without reading chat_messages. */
+    @Column(name = "last_message_at")
+    private Instant lastMessageAt;
+
+    @Column(name = "last_message_preview", length = 100)
+    private String lastMessagePreview;
+
+    /** Messages from the Mahir not yet read by the customer; reset by PATCH /api/chats/{id}/read. */
+    @Column(name = "customer_unread_count", nullable = false)
+    @Builder.Default
+    private int customerUnreadCount = 0;
+
+    /** Messages from the customer not yet read by the Mahir. */
+    @Column(name = "mahir_unread_count", nullable = false)
+    @Builder.Default
+    private int mahirUnreadCount = 0;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) createdAt = Instant.now();
@@ -0,0 +1,42 @@
+package com.example.demoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Per-UTC-day rollup of the admin engagement series, written by {@code EngagementStatsService} for closed days
+ * when {@code app.engagement-rollup.enabled=true}. Counts are as of the rollup; later deletes do not change them.
+ */
+@Entity
+@Table(name = "engagement_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementDaily {
+
+    @Id
+    @Column(name = "stat_day")
+    private LocalDate day;
+
+    @Column(name = "chat_messages", nullable = false)
+    @Builder.Default
+    private long chatMessages = 0;
+
+    @Column(name = "new_registrations", nullable = false)
+    @Builder.Default
+    private long newRegistrations = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+}
@@ -8,7 +8,12 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_status_created", columnList = "status, created_at DESC"),
+        @Index(name = "idx_jobs_category_status_created", columnList = "category_id, status, created_at DESC"),
+        @Index(name = "idx_jobs_posted_by_created", columnList = "posted_by_id, created_at DESC"),
+        @Index(name = "idx_jobs_geohash", columnList = "job_geohash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,7 +43,8 @@ public class Job {
     @AttributeOverrides({
             @AttributeOverride(name = "streetAddress", column = @Column(name = "job_street_address", length = 500)),
             @AttributeOverride(name = "latitude", column = @Column(name = "job_latitude")),
-            @AttributeOverride(name = "longitude", column = @Column(name = "job_longitude"))
+            @AttributeOverride(name = "longitude", column = @Column(name = "job_longitude")),
+            @AttributeOverride(name = "geohash", column = @Column(name = "job_geohash", length = 12))
     })
     private Location location;
 
@@ -69,6 +75,15 @@ public class Job {
     @Builder.Default
     private boolean moderationBlocked = false;
 
+    /**
+     * Number of bids, kept by {@link com.example.demoapp.repository.JobRepository#adjustBidCount} and repaired by
+     * {@link com.example.demoapp.service.JobBidCountReconciler}. Not updatable through the entity, so saving a Job
+     * loaded before a concurrent bid cannot write a stale count back.
+     */
+    @Column(name = "bid_count", nullable = false, updatable = false)
+    @Builder.Default
+    private int bidCount = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -80,10 +95,12 @@ public class Job {
         Instant now = Instant.now();
         if (createdAt == null) createdAt = now;
         if (updatedAt == null) updatedAt = now;
+        if (location != null) location.refreshGeohash();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
+        if (location != null) location.refreshGeohash();
     }
 }
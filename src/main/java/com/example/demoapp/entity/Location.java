@@ -1,5 +1,6 @@
 package com.example.demoapp.entity;
 
+import com.example.demoapp.geo.GeoHash;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import lombok.*;
@@ -20,4 +21,13 @@ public class Location {
 
     @Column(name = "longitude")
     private Double longitude;
+
+    /** Derived from latitude/longitude by {@link #refreshGeohash()}; indexed for nearby search. */
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
+    /** Owning entities call this from their persist/update callbacks. */
+    public void refreshGeohash() {
+        geohash = GeoHash.encode(latitude, longitude);
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.demoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Running aggregate of a Mahir's public (not hidden) reviews, maintained by {@code MahirRatingService} whenever a
+ * review is created, edited, hidden/unhidden or deleted. Lets listings show rating and review count without
+ * AVG/COUNT over {@code reviews} per row.
+ */
+@Entity
+@Table(name = "mahir_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MahirRatingStats {
+
+    @Id
+    @Column(name = "mahir_id")
+    private Long mahirId;
+
+    @Column(name = "rating_sum", nullable = false)
+    @Builder.Default
+    private long ratingSum = 0;
+
+    @Column(name = "rating_count", nullable = false)
+    @Builder.Default
+    private long ratingCount = 0;
+
+    /** Histogram: number of public reviews with 1..5 stars. */
+    @Column(name = "stars_1", nullable = false)
+    @Builder.Default
+    private long stars1 = 0;
+
+    @Column(name = "stars_2", nullable = false)
+    @Builder.Default
+    private long stars2 = 0;
+
+    @Column(name = "stars_3", nullable = false)
+    @Builder.Default
+    private long stars3 = 0;
+
+    @Column(name = "stars_4", nullable = false)
+    @Builder.Default
+    private long stars4 = 0;
+
+    @Column(name = "stars_5", nullable = false)
+    @Builder.Default
+    private long stars5 = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+
+    /** Same value the old {@code COALESCE(AVG(rating), 0)} query returned, rounded to one decimal. */
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0.0 : Math.round((double) ratingSum / ratingCount * 10.0) / 10.0;
+    }
+}
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_notifications_user_read", columnList = "user_id, read_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
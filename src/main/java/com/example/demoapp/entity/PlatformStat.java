@@ -0,0 +1,49 @@
+package com.example.demoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * One slot of a platform-wide counter read by the admin dashboard. Each key is spread over {@link #SLOTS} rows so
+ * concurrent writers rarely wait on the same row lock; the counter's value is the sum of its slots.
+ * <p>
+ * Keys are {@code users.<ROLE>}, {@code jobs.<STATUS>}, {@code bookings.<STATUS>}, {@code reviews} and one
+ * {@code chat_messages.<yyyy-MM-dd>} per UTC day. Rows are created by {@code PlatformStatsService}; writers only
+ * ever add to existing rows.
+ */
+@Entity
+@Table(name = "platform_stats")
+@IdClass(PlatformStat.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlatformStat {
+
+    public static final int SLOTS = 16;
+
+    @Id
+    @Column(name = "stat_key", length = 64)
+    private String statKey;
+
+    @Id
+    @Column(name = "slot")
+    private int slot;
+
+    @Column(name = "stat_value", nullable = false)
+    @Builder.Default
+    private long statValue = 0;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String statKey;
+        private int slot;
+    }
+}
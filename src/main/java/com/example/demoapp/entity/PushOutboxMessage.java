@@ -0,0 +1,66 @@
+package com.example.demoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A push notification waiting to be delivered over FCM. Written in the same transaction as the in-app
+ * {@link Notification} and drained after commit by {@code PushDispatchService}, so request threads never
+ * wait on Firebase.
+ */
+@Entity
+@Table(name = "push_outbox", indexes = @Index(name = "idx_push_outbox_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PushOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(length = 200)
+    private String title;
+
+    @Column(length = 1000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private PushOutboxStatus status = PushOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    /** When the row becomes due; while SENDING it is the lease expiry after which the sweep re-queues it. */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) createdAt = Instant.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demoapp.entity;
+
+public enum PushOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    SKIPPED,
+    FAILED
+}
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_mahir_created", columnList = "mahir_id, created_at DESC"),
+        @Index(name = "idx_reviews_reviewer", columnList = "reviewer_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -10,7 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_geohash", columnList = "geohash"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -97,5 +97,11 @@ public class User {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (location != null) location.refreshGeohash();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        if (location != null) location.refreshGeohash();
     }
 }
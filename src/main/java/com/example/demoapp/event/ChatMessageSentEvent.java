@@ -0,0 +1,17 @@
+package com.example.demoapp.event;
+
+import com.example.demoapp.dto.ChatMessageResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@code ChatService.sendMessage} inside its transaction; listeners that push to clients
+ * should use {@code @TransactionalEventListener} so nothing is delivered for a rolled-back message.
+ */
+@Getter
+@AllArgsConstructor
+public class ChatMessageSentEvent {
+
+    private final Long threadId;
+    private final ChatMessageResponse message;
+}
@@ -0,0 +1,19 @@
+package com.example.demoapp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@code JobService.create} inside its transaction. {@code NewJobFanoutService} notifies the
+ * category's Mahirs once it has committed, so the poster's request does not wait for the fan-out.
+ */
+@Getter
+@AllArgsConstructor
+public class JobPostedEvent {
+
+    private final Long jobId;
+    private final Long postedById;
+    private final Long categoryId;
+    private final String categoryName;
+    private final String title;
+}
@@ -0,0 +1,16 @@
+package com.example.demoapp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by any write that can change how a user appears in Mahir search: profile fields, categories,
+ * block state, account type, role, rating or deletion. {@code MahirDirectoryService} reloads the user after
+ * commit; publishing it for a non-Mahir is harmless.
+ */
+@Getter
+@AllArgsConstructor
+public class MahirProfileChangedEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,27 @@
+package com.example.demoapp.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by any write that can change a job's card in the public open-jobs feed: create, edit, cancel,
+ * assignment, a new bid (count), admin moderation/hide/delete, and blocking the poster. Exactly one of
+ * {@code jobId} / {@code postedById} is set; the latter covers every job of one poster.
+ * {@code OpenJobFeedService} applies it after commit.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class OpenJobChangedEvent {
+
+    private final Long jobId;
+    private final Long postedById;
+
+    public static OpenJobChangedEvent forJob(Long jobId) {
+        return new OpenJobChangedEvent(jobId, null);
+    }
+
+    public static OpenJobChangedEvent forPoster(Long postedById) {
+        return new OpenJobChangedEvent(null, postedById);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demoapp.event;
+
+/**
+ * Published when rows are added to the push outbox; the dispatcher drains the outbox once the
+ * publishing transaction commits. Carries no payload because the outbox table is the source of truth.
+ */
+public final class PushQueuedEvent {
+
+    public static final PushQueuedEvent INSTANCE = new PushQueuedEvent();
+
+    private PushQueuedEvent() {
+    }
+}
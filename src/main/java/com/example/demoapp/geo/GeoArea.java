@@ -0,0 +1,123 @@
+package com.example.demoapp.geo;
+
+import com.example.demoapp.exception.BadRequestException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A circle around a point, translated into index-friendly predicates:
+ * <ul>
+ *     <li>the 3x3 block of geohash cells around the centre (each cell at least as large as the radius), as
+ *     {@code geohash BETWEEN lo AND hi} ranges;</li>
+ *     <li>a lat/lng bounding box;</li>
+ *     <li>an equirectangular squared distance (in degrees of latitude) for the exact radius cut and ordering —
+ *     plain arithmetic, so it runs unchanged on PostgreSQL, MySQL and H2.</li>
+ * </ul>
+ * Displayed distances use {@link #distanceKm} (haversine).
+ */
+@Getter
+public final class GeoArea {
+
+    public static final double DEFAULT_RADIUS_KM = 10;
+    public static final double MAX_RADIUS_KM = 200;
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double latitude;
+    private final double longitude;
+    private final double radiusKm;
+    private final double minLat;
+    private final double maxLat;
+    private final double minLng;
+    private final double maxLng;
+    /** cos(latitude): converts longitude degrees to latitude-degree units near the centre. */
+    private final double lngScale;
+    /** Squared radius in latitude-degree units, compared against the equirectangular expression. */
+    private final double maxDistanceSquared;
+    /** Inclusive [lo, hi] geohash ranges covering the circle; empty when the radius needs no cell filter. */
+    private final List<String[]> cellRanges;
+
+    private GeoArea(double latitude, double longitude, double radiusKm) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusKm = radiusKm;
+        double dLat = radiusKm / KM_PER_DEGREE;
+        this.lngScale = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double dLng = Math.min(dLat / lngScale, 180);
+        this.minLat = Math.max(-90, latitude - dLat);
+        this.maxLat = Math.min(90, latitude + dLat);
+        boolean crossesAntimeridian = longitude - dLng < -180 || longitude + dLng > 180;
+        this.minLng = crossesAntimeridian ? -180 : longitude - dLng;
+        this.maxLng = crossesAntimeridian ? 180 : longitude + dLng;
+        this.maxDistanceSquared = dLat * dLat;
+        this.cellRanges = crossesAntimeridian ? List.of() : coveringCells(dLat, dLng);
+    }
+
+    /**
+     * Validates request parameters. All null means "no geo filter" and returns null;
+     * lat and lng must be given together.
+     */
+    public static GeoArea fromRequest(Double lat, Double lng, Double radiusKm) {
+        if (lat == null && lng == null) {
+            if (radiusKm != null) throw new BadRequestException("radiusKm requires lat and lng");
+            return null;
+        }
+        if (lat == null || lng == null) {
+            throw new BadRequestException("lat and lng must be provided together");
+        }
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new BadRequestException("lat must be within [-90, 90] and lng within [-180, 180]");
+        }
+        double r = radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM;
+        if (r <= 0 || r > MAX_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be greater than 0 and at most " + (int) MAX_RADIUS_KM);
+        }
+        return new GeoArea(lat, lng, r);
+    }
+
+    /** Great-circle distance from the centre in km (rounded to 0.01), or null if the point has no coordinates. */
+    public Double distanceKm(Double lat, Double lng) {
+        if (lat == null || lng == null) return null;
+        double dLat = Math.toRadians(lat - latitude);
+        double dLng = Math.toRadians(lng - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(lat)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        double km = 2 * EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return Math.round(km * 100.0) / 100.0;
+    }
+
+    /** Finest precision whose cells are at least dLat x dLng, then the centre cell plus its 8 neighbours. */
+    private List<String[]> coveringCells(double dLat, double dLng) {
+        int precision = 0;
+        for (int p = 8; p >= 1; p--) {
+            if (GeoHash.cellHeightDegrees(p) >= dLat && GeoHash.cellWidthDegrees(p) >= dLng) {
+                precision = p;
+                break;
+            }
+        }
+        if (precision == 0) return List.of();
+        double h = GeoHash.cellHeightDegrees(precision);
+        double w = GeoHash.cellWidthDegrees(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                double lat = Math.max(-90, Math.min(90, latitude + i * h));
+                double lng = longitude + j * w;
+                if (lng >= 180) lng -= 360;
+                if (lng < -180) lng += 360;
+                cells.add(GeoHash.encode(lat, lng, precision));
+            }
+        }
+        String pad = "z".repeat(GeoHash.MAX_PRECISION - precision);
+        List<String[]> ranges = new ArrayList<>(cells.size());
+        for (String cell : cells) {
+            ranges.add(new String[] { cell, cell + pad });
+        }
+        return ranges;
+    }
+}
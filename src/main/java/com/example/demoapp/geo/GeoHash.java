@@ -0,0 +1,67 @@
+package com.example.demoapp.geo;
+
+/**
+ * Standard base-32 geohash encoding. Points sharing a prefix lie in the same cell, so a B-tree index on the
+ * hash turns "near this point" into a handful of range scans (see {@link GeoArea}).
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    /** @return the geohash of the point, or null if either coordinate is missing */
+    public static String encode(Double latitude, Double longitude, int precision) {
+        if (latitude == null || longitude == null) return null;
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static String encode(Double latitude, Double longitude) {
+        return encode(latitude, longitude, MAX_PRECISION);
+    }
+
+    /** Cell height in degrees of latitude at the given precision. */
+    static double cellHeightDegrees(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    /** Cell width in degrees of longitude at the given precision. */
+    static double cellWidthDegrees(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demoapp.monitoring;
+
+import com.example.demoapp.entity.PushOutboxStatus;
+import com.example.demoapp.repository.PushOutboxRepository;
+import com.example.demoapp.service.PushGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code firebase} health component, part of the readiness group: whether the push gateway can send, and how
+ * many pushes wait in the outbox. Push is optional (without credentials the app runs and skips FCM), so an
+ * unavailable gateway is only DOWN when {@code app.health.firebase-required=true}.
+ */
+@Component("firebase")
+@RequiredArgsConstructor
+public class FirebaseHealthIndicator implements HealthIndicator {
+
+    private final PushGateway pushGateway;
+    private final PushOutboxRepository outboxRepository;
+
+    @Value("${app.health.firebase-required:false}")
+    private boolean required;
+
+    @Override
+    public Health health() {
+        boolean available = pushGateway.isAvailable();
+        Health.Builder builder = available || !required ? Health.up() : Health.down();
+        return builder
+                .withDetail("gateway", pushGateway.getClass().getSimpleName())
+                .withDetail("available", available)
+                .withDetail("pendingPushes", outboxRepository.countByStatus(PushOutboxStatus.PENDING))
+                .build();
+    }
+}
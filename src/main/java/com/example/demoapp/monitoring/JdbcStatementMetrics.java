@@ -0,0 +1,54 @@
+package com.example.demoapp.monitoring;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-session Hibernate listener (registered through {@code hibernate.session.events.auto}) that times every
+ * JDBC statement and batch execution as {@code hibernate.jdbc.executions}, tagged {@code kind=statement|batch}.
+ * The count is the query count; the SLO buckets configured for the meter in application.properties give the
+ * number of slow statements without turning on Hibernate statistics. The matching SQL is logged by
+ * {@code hibernate.log_slow_query}.
+ * <p>
+ * Hibernate instantiates the class itself, so it records into Micrometer's global registry, which Spring Boot
+ * links to the application registry.
+ */
+public class JdbcStatementMetrics implements SessionEventListener {
+
+    private static final Timer STATEMENTS = timer("statement");
+    private static final Timer BATCHES = timer("batch");
+
+    /** A session is used by one thread at a time, and executions on it do not nest. */
+    private long statementStart;
+    private long batchStart;
+
+    private static Timer timer(String kind) {
+        return Timer.builder("hibernate.jdbc.executions")
+                .description("JDBC statement executions issued by Hibernate")
+                .tag("kind", kind)
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        STATEMENTS.record(System.nanoTime() - statementStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        BATCHES.record(System.nanoTime() - batchStart, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demoapp.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of a {@code com.example.demoapp.service} bean as {@code service.method}, tagged with
+ * {@code class}, {@code method} and {@code exception} ("none" on success). A timer also counts calls, so
+ * throughput and error rate per method come from the same meter.
+ * <p>
+ * Only calls through the Spring proxy are seen: a service calling its own methods is measured once, as the
+ * outer call. Handlers on worker threads (push dispatch, feed rebuilds) are covered when invoked by Spring.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METER = "service.method";
+
+    private final MeterRegistry registry;
+    /** Success timers, looked up once per method; failures are rare enough to resolve through the registry. */
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("within(com.example.demoapp.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = pjp.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(pjp, m, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable t) {
+            timer(pjp, method, t.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw t;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint pjp, Method method, String exception) {
+        return Timer.builder(METER)
+                .description("Service method calls")
+                .tag("class", pjp.getTarget().getClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
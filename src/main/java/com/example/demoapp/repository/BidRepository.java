@@ -6,6 +6,7 @@ import com.example.demoapp.entity.Job;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,18 +23,23 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
 
     long countByMahir(User mahir);
 
+    @EntityGraph(attributePaths = "mahir")
     Page<Bid> findByJobOrderByCreatedAtDesc(Job job, Pageable pageable);
 
+    @EntityGraph(attributePaths = "mahir")
     Page<Bid> findByJobAndStatusOrderByCreatedAtDesc(Job job, BidStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "mahir")
     Page<Bid> findByMahirOrderByCreatedAtDesc(User mahir, Pageable pageable);
 
+    @EntityGraph(attributePaths = "mahir")
     Page<Bid> findByMahirAndStatusOrderByCreatedAtDesc(User mahir, BidStatus status, Pageable pageable);
 
     Optional<Bid> findByJobIdAndMahirId(Long jobId, Long mahirId);
 
     List<Bid> findByJob_Id(Long jobId);
 
+    @EntityGraph(attributePaths = "mahir")
     Page<Bid> findByJobAndMahirOrderByCreatedAtDesc(Job job, User mahir, Pageable pageable);
 
     boolean existsByJobIdAndMahirId(Long jobId, Long mahirId);
@@ -5,17 +5,29 @@ import com.example.demoapp.entity.BookingStatus;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /** Select list and joins behind {@link BookingListView}; callers append WHERE / ORDER BY. */
+    String LIST_VIEW_SELECT = "SELECT b.id AS id, j.id AS jobId, bd.id AS bidId, c.id AS customerId, "
+            + "c.fullName AS customerName, c.email AS customerEmail, m.id AS mahirId, m.fullName AS mahirName, "
+            + "m.email AS mahirEmail, j.title AS jobTitle, b.agreedPrice AS agreedPrice, b.status AS status, "
+            + "b.scheduledAt AS scheduledAt, b.message AS message, b.cancelReason AS cancelReason, "
+            + "b.createdAt AS createdAt, b.updatedAt AS updatedAt "
+            + "FROM Booking b JOIN b.customer c JOIN b.mahir m LEFT JOIN b.job j LEFT JOIN b.bid bd ";
+
     long count();
 
     long countByStatus(BookingStatus status);
@@ -24,14 +36,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     long countByMahir(User mahir);
 
-    Page<Booking> findByCustomerOrderByCreatedAtDesc(User customer, Pageable pageable);
-
-    Page<Booking> findByMahirOrderByCreatedAtDesc(User mahir, Pageable pageable);
-
-    Page<Booking> findByCustomerAndStatusOrderByCreatedAtDesc(User customer, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByMahirAndStatusOrderByCreatedAtDesc(User mahir, BookingStatus status, Pageable pageable);
-
+    /** A customer's bookings (all statuses unless {@code status} is given), newest first. */
+    @Query(value = LIST_VIEW_SELECT + "WHERE c.id = :userId AND (:status IS NULL OR b.status = :status) "
+            + "ORDER BY b.createdAt DESC",
+            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.customer.id = :userId AND (:status IS NULL OR b.status = :status)")
+    Page<BookingListView> findListViewsByCustomer(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                                  Pageable pageable);
+
+    /** Same as {@link #findListViewsByCustomer} from the Mahir's side. */
+    @Query(value = LIST_VIEW_SELECT + "WHERE m.id = :userId AND (:status IS NULL OR b.status = :status) "
+            + "ORDER BY b.createdAt DESC",
+            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.mahir.id = :userId AND (:status IS NULL OR b.status = :status)")
+    Page<BookingListView> findListViewsByMahir(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                               Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "mahir", "job"})
     Page<Booking> findByCustomerOrMahirOrderByCreatedAtDesc(User customer, User mahir, Pageable pageable);
 
     Optional<Booking> findByBid_Id(Long bidId);
@@ -42,4 +61,41 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findActiveDirectBookingsBetween(@Param("customerId") Long customerId, @Param("mahirId") Long mahirId, Pageable pageable);
 
     List<Booking> findByJob_Id(Long jobId);
+
+    /** Booking list row: participants and job title as plain values rather than User and Job entities. */
+    interface BookingListView {
+        Long getId();
+
+        Long getJobId();
+
+        Long getBidId();
+
+        Long getCustomerId();
+
+        String getCustomerName();
+
+        String getCustomerEmail();
+
+        Long getMahirId();
+
+        String getMahirName();
+
+        String getMahirEmail();
+
+        String getJobTitle();
+
+        BigDecimal getAgreedPrice();
+
+        BookingStatus getStatus();
+
+        LocalDateTime getScheduledAt();
+
+        String getMessage();
+
+        String getCancelReason();
+
+        Instant getCreatedAt();
+
+        Instant getUpdatedAt();
+    }
 }
@@ -4,12 +4,17 @@ import com.example.demoapp.entity.ChatMessage;
 import com.example.demoapp.entity.ChatThread;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
@@ -17,11 +22,73 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(java.time.Instant start, java.time.Instant endExclusive);
 
+    /**
+     * Message counts in [start, endExclusive) per stored half hour as [earliest createdAt, count]; empty buckets
+     * are absent. The database groups on the wall-clock value as stored, whose zone depends on the JVM and driver,
+     * so callers bucket on the returned instant instead (exact for zones offset by whole half hours).
+     */
+    @Query("SELECT MIN(m.createdAt), COUNT(m) FROM ChatMessage m "
+            + "WHERE m.createdAt >= :start AND m.createdAt < :endExclusive "
+            + "GROUP BY year(m.createdAt), month(m.createdAt), day(m.createdAt), hour(m.createdAt), "
+            + "CASE WHEN minute(m.createdAt) < 30 THEN 0 ELSE 1 END")
+    List<Object[]> countPerHalfHour(@Param("start") Instant start, @Param("endExclusive") Instant endExclusive);
+
+    @Query("SELECT MIN(m.createdAt) FROM ChatMessage m")
+    Instant findFirstCreatedAt();
+
     Page<ChatMessage> findByThreadOrderByCreatedAtDesc(ChatThread thread, Pageable pageable);
 
     Page<ChatMessage> findByThreadOrderByCreatedAtAsc(ChatThread thread, Pageable pageable);
 
+    /** Keyset first page: newest messages, no count query. */
+    Slice<ChatMessage> findByThreadOrderByCreatedAtDescIdDesc(ChatThread thread, Pageable pageable);
+
+    /**
+     * Keyset seek on (thread_id, created_at, id): messages strictly older than the anchor row.
+     * The redundant {@code createdAt <= :createdAt} gives the planner an index range bound starting at the cursor;
+     * the OR alone is only applied as a filter after scanning from the newest row.
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.thread = :thread "
+            + "AND m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    Slice<ChatMessage> findSliceBefore(@Param("thread") ChatThread thread,
+                                       @Param("createdAt") Instant createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT m FROM ChatMessage m WHERE m.thread = :thread AND m.createdAt < :createdAt "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    Slice<ChatMessage> findSliceBeforeTime(@Param("thread") ChatThread thread,
+                                           @Param("createdAt") Instant createdAt,
+                                           Pageable pageable);
+
+    /** Messages committed after {@code afterId}, oldest first (long-poll catch-up). */
+    @Query("SELECT m FROM ChatMessage m WHERE m.thread.id = :threadId AND m.id > :afterId ORDER BY m.id ASC")
+    List<ChatMessage> findNewerThan(@Param("threadId") Long threadId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /** Newest message of each given thread (one row per thread that has messages). */
+    @Query("SELECT m FROM ChatMessage m WHERE m.thread.id IN :threadIds AND m.id = "
+            + "(SELECT MAX(m2.id) FROM ChatMessage m2 WHERE m2.thread = m.thread)")
+    List<ChatMessage> findLatestInThreads(@Param("threadIds") Collection<Long> threadIds);
+
+    /** Unread messages per thread for the given reader (messages sent by the other participant). */
+    @Query("SELECT m.thread.id AS threadId, COUNT(m) AS unreadCount FROM ChatMessage m "
+            + "WHERE m.thread.id IN :threadIds AND m.sender.id <> :readerId AND m.readAt IS NULL GROUP BY m.thread.id")
+    List<ThreadUnreadCount> countUnreadInThreads(@Param("threadIds") Collection<Long> threadIds,
+                                                 @Param("readerId") Long readerId);
+
+    @Modifying
+    @Query("UPDATE ChatMessage m SET m.readAt = :readAt "
+            + "WHERE m.thread.id = :threadId AND m.sender.id <> :readerId AND m.readAt IS NULL")
+    int markThreadRead(@Param("threadId") Long threadId, @Param("readerId") Long readerId, @Param("readAt") Instant readAt);
+
     @Modifying
     @Query("DELETE FROM ChatMessage m WHERE m.thread = :thread")
     void deleteByThread(@Param("thread") ChatThread thread);
+
+    interface ThreadUnreadCount {
+        Long getThreadId();
+
+        long getUnreadCount();
+    }
 }
@@ -6,10 +6,13 @@ import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +23,42 @@ public interface ChatThreadRepository extends JpaRepository<ChatThread, Long> {
 
     Optional<ChatThread> findByBookingId(Long bookingId);
 
+    /** Thread ids for a page of bookings: rows of [bookingId, threadId]. */
+    @Query("SELECT t.booking.id, t.id FROM ChatThread t WHERE t.booking.id IN :bookingIds")
+    List<Object[]> findIdsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /** Thread ids for a page of bids that turned into bookings: rows of [bidId, threadId]. */
+    @Query("SELECT bk.bid.id, t.id FROM ChatThread t JOIN t.booking bk WHERE bk.bid.id IN :bidIds")
+    List<Object[]> findIdsByBidIds(@Param("bidIds") Collection<Long> bidIds);
+
     @Query("SELECT t FROM ChatThread t WHERE t.booking.customer.id = :userId OR t.booking.mahir.id = :userId ORDER BY t.createdAt DESC")
     List<ChatThread> findThreadsForUser(@Param("userId") Long userId);
+
+    /** Inbox query: threads with booking and both participants in one round trip. */
+    @Query("SELECT t FROM ChatThread t JOIN FETCH t.booking b JOIN FETCH b.customer JOIN FETCH b.mahir "
+            + "WHERE b.customer.id = :userId OR b.mahir.id = :userId ORDER BY t.createdAt DESC")
+    List<ChatThread> findThreadSummariesForUser(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(t) > 0 FROM ChatThread t WHERE t.id = :threadId "
+            + "AND (t.booking.customer.id = :userId OR t.booking.mahir.id = :userId)")
+    boolean isParticipant(@Param("threadId") Long threadId, @Param("userId") Long userId);
+
+    /** Applies a new message to the denormalized inbox columns without reading the row first. */
+    @Modifying
+    @Query("UPDATE ChatThread t SET t.lastMessageAt = :sentAt, t.lastMessagePreview = :preview, "
+            + "t.customerUnreadCount = t.customerUnreadCount + :customerDelta, "
+            + "t.mahirUnreadCount = t.mahirUnreadCount + :mahirDelta WHERE t.id = :threadId")
+    int recordMessage(@Param("threadId") Long threadId,
+                      @Param("sentAt") Instant sentAt,
+                      @Param("preview") String preview,
+                      @Param("customerDelta") int customerDelta,
+                      @Param("mahirDelta") int mahirDelta);
+
+    @Modifying
+    @Query("UPDATE ChatThread t SET t.customerUnreadCount = 0 WHERE t.id = :threadId")
+    int resetCustomerUnread(@Param("threadId") Long threadId);
+
+    @Modifying
+    @Query("UPDATE ChatThread t SET t.mahirUnreadCount = 0 WHERE t.id = :threadId")
+    int resetMahirUnread(@Param("threadId") Long threadId);
 }
@@ -0,0 +1,19 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.entity.EngagementDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EngagementDailyRepository extends JpaRepository<EngagementDaily, LocalDate> {
+
+    List<EngagementDaily> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    /** Last rolled-up day, or null before the first rollup. */
+    @Query("SELECT MAX(e.day) FROM EngagementDaily e")
+    LocalDate findLastDay();
+}
@@ -5,36 +5,142 @@ import com.example.demoapp.entity.JobStatus;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
 
+    /** Select list and joins behind {@link JobListView}; callers append WHERE / ORDER BY. */
+    String LIST_VIEW_SELECT = "SELECT j.id AS id, p.id AS postedById, p.fullName AS posterName, p.email AS posterEmail, "
+            + "c.id AS categoryId, c.name AS categoryName, j.title AS title, j.description AS description, "
+            + "j.location.streetAddress AS streetAddress, j.location.latitude AS latitude, "
+            + "j.location.longitude AS longitude, j.scheduledAt AS scheduledAt, j.budgetMin AS budgetMin, "
+            + "j.budgetMax AS budgetMax, j.durationHours AS durationHours, j.status AS status, "
+            + "j.hiddenFromPublic AS hiddenFromPublic, j.moderationBlocked AS moderationBlocked, "
+            + "j.bidCount AS bidCount, j.createdAt AS createdAt, j.updatedAt AS updatedAt "
+            + "FROM Job j JOIN j.postedBy p JOIN j.category c ";
+
     long countByStatus(JobStatus status);
 
+    /** Atomic in-place change of the denormalized bid counter; no read of the row, no lost updates. */
+    @Modifying
+    @Query("UPDATE Job j SET j.bidCount = j.bidCount + :delta WHERE j.id = :jobId")
+    int adjustBidCount(@Param("jobId") Long jobId, @Param("delta") int delta);
+
+    /** Resets every drifted counter to the real number of bids; returns the number of jobs corrected. */
+    @Modifying
+    @Query("UPDATE Job j SET j.bidCount = (SELECT COUNT(b) FROM Bid b WHERE b.job = j) "
+            + "WHERE j.bidCount <> (SELECT COUNT(b) FROM Bid b WHERE b.job = j)")
+    int reconcileBidCounts();
+
+    @EntityGraph(attributePaths = {"postedBy", "category"})
     Page<Job> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
     long countByPostedBy(User postedBy);
 
-    Page<Job> findByPostedByOrderByCreatedAtDesc(User postedBy, Pageable pageable);
-
-    Page<Job> findByPostedByAndStatusOrderByCreatedAtDesc(User postedBy, JobStatus status, Pageable pageable);
+    /** A poster's own jobs (all statuses unless {@code status} is given), newest first. */
+    @Query(value = LIST_VIEW_SELECT + "WHERE p.id = :postedById AND (:status IS NULL OR j.status = :status) "
+            + "ORDER BY j.createdAt DESC",
+            countQuery = "SELECT COUNT(j) FROM Job j WHERE j.postedBy.id = :postedById AND (:status IS NULL OR j.status = :status)")
+    Page<JobListView> findListViewsByPoster(@Param("postedById") Long postedById, @Param("status") JobStatus status,
+                                           Pageable pageable);
 
+    @EntityGraph(attributePaths = {"postedBy", "category"})
     Page<Job> findByStatusOrderByCreatedAtDesc(JobStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"postedBy", "category"})
     Page<Job> findByStatusAndCategoryIdOrderByCreatedAtDesc(JobStatus status, Long categoryId, Pageable pageable);
 
+    /** Rows saved before the geohash column existed, as [id, latitude, longitude] (see GeoHashBackfillRunner). */
+    @Query("SELECT j.id, j.location.latitude, j.location.longitude FROM Job j WHERE j.location.latitude IS NOT NULL AND j.location.longitude IS NOT NULL "
+            + "AND j.location.geohash IS NULL")
+    List<Object[]> findMissingGeohash(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"postedBy", "category"})
     @Query("SELECT j FROM Job j WHERE j.status = :status AND (:categoryId IS NULL OR j.category.id = :categoryId) ORDER BY j.createdAt DESC")
     Page<Job> findOpenJobs(@Param("status") JobStatus status, @Param("categoryId") Long categoryId, Pageable pageable);
 
-    @Query("SELECT j FROM Job j WHERE j.status = :status AND j.postedBy.blocked = false "
+    /** The public feed: open jobs that are not hidden, blocked by moderation, or posted by a blocked user. */
+    @Query(value = LIST_VIEW_SELECT + "WHERE j.status = :status AND p.blocked = false "
             + "AND j.hiddenFromPublic = false AND j.moderationBlocked = false "
-            + "AND (:categoryId IS NULL OR j.category.id = :categoryId) ORDER BY j.createdAt DESC")
-    Page<Job> findPublicOpenJobs(@Param("status") JobStatus status, @Param("categoryId") Long categoryId, Pageable pageable);
+            + "AND (:categoryId IS NULL OR c.id = :categoryId) ORDER BY j.createdAt DESC, j.id DESC",
+            countQuery = "SELECT COUNT(j) FROM Job j WHERE j.status = :status AND j.postedBy.blocked = false "
+                    + "AND j.hiddenFromPublic = false AND j.moderationBlocked = false "
+                    + "AND (:categoryId IS NULL OR j.category.id = :categoryId)")
+    Page<JobListView> findPublicOpenJobViews(@Param("status") JobStatus status, @Param("categoryId") Long categoryId,
+                                             Pageable pageable);
+
+    /** One job's feed card, or empty when the job is not (or no longer) in the public feed. */
+    @Query(LIST_VIEW_SELECT + "WHERE j.id = :id AND j.status = :status AND p.blocked = false "
+            + "AND j.hiddenFromPublic = false AND j.moderationBlocked = false")
+    Optional<JobListView> findPublicOpenJobView(@Param("status") JobStatus status, @Param("id") Long id);
+
+    /** Cards for the given ids, in no particular order (keyword search ranks them itself). */
+    @Query(LIST_VIEW_SELECT + "WHERE j.id IN :ids")
+    List<JobListView> findListViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Membership of the public feed: rows of [jobId, categoryId] for every job {@link #findPublicOpenJobViews} can return. */
+    @Query("SELECT j.id, j.category.id FROM Job j WHERE j.status = :status AND j.postedBy.blocked = false "
+            + "AND j.hiddenFromPublic = false AND j.moderationBlocked = false")
+    List<Object[]> findPublicOpenJobCategories(@Param("status") JobStatus status);
+
+    /**
+     * Exactly the columns of a job card: read as plain values, so list pages never put Job, User or Category
+     * entities (poster bio, FCM token, password hash, ...) into the persistence context.
+     */
+    interface JobListView {
+        Long getId();
+
+        Long getPostedById();
+
+        String getPosterName();
+
+        String getPosterEmail();
+
+        Long getCategoryId();
+
+        String getCategoryName();
+
+        String getTitle();
+
+        String getDescription();
+
+        String getStreetAddress();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        LocalDateTime getScheduledAt();
+
+        BigDecimal getBudgetMin();
+
+        BigDecimal getBudgetMax();
+
+        Integer getDurationHours();
+
+        JobStatus getStatus();
+
+        Boolean getHiddenFromPublic();
+
+        Boolean getModerationBlocked();
+
+        Integer getBidCount();
+
+        Instant getCreatedAt();
+
+        Instant getUpdatedAt();
+    }
 }
@@ -0,0 +1,178 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.entity.JobStatus;
+import com.example.demoapp.geo.GeoArea;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keyword search over the public open-jobs feed, ranked by
+ * {@code relevance x 1/(1 + age/RECENCY_HALF_LIFE) x 1/(1 + distance/radius)} (the last factor only with a
+ * {@link GeoArea}). Only the {@link #MAX_CANDIDATES} newest matches are ranked, which bounds the cost of a
+ * common word; pages beyond that are empty.
+ * <p>
+ * Returns job ids in rank order; callers load the cards with {@link JobRepository#findListViewsByIdIn}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobSearchRepository {
+
+    public static final int MAX_CANDIDATES = 1000;
+    public static final Duration RECENCY_HALF_LIFE = Duration.ofDays(7);
+
+    private final EntityManager entityManager;
+
+    /**
+     * Postgres: {@code jobs.search_vector} (V9, title weighted above description) against a prefix-matching
+     * tsquery, relevance from {@code ts_rank_cd}. The newest-first candidate scan can run on either the partial
+     * GIN index (rare words) or the public feed index (common words); the planner picks.
+     */
+    @SuppressWarnings("unchecked")
+    public Page<Long> searchFullText(List<String> terms, Long categoryId, GeoArea near, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("tsq", toTsQuery(terms));
+        StringBuilder where = new StringBuilder("j.search_vector @@ to_tsquery('simple', :tsq) AND j.status = 'OPEN' "
+                + "AND j.hidden_from_public = FALSE AND j.moderation_blocked = FALSE AND p.blocked = FALSE");
+        if (categoryId != null) {
+            where.append(" AND j.category_id = :categoryId");
+            params.put("categoryId", categoryId);
+        }
+        String distanceColumn = "";
+        String geoFactor = "";
+        if (near != null) {
+            String distance = "((j.job_latitude - :lat) * (j.job_latitude - :lat) "
+                    + "+ ((j.job_longitude - :lng) * :lngScale) * ((j.job_longitude - :lng) * :lngScale))";
+            where.append(" AND j.job_latitude BETWEEN :minLat AND :maxLat AND j.job_longitude BETWEEN :minLng AND :maxLng")
+                    .append(" AND ").append(distance).append(" <= :maxDistanceSquared");
+            distanceColumn = ", " + distance + " AS d2";
+            geoFactor = " / (1.0 + SQRT(c.d2 / :maxDistanceSquared))";
+            putBox(params, near);
+            params.put("lat", near.getLatitude());
+            params.put("lng", near.getLongitude());
+            params.put("lngScale", near.getLngScale());
+            params.put("maxDistanceSquared", near.getMaxDistanceSquared());
+        }
+        String candidates = "FROM jobs j JOIN users p ON p.id = j.posted_by_id WHERE " + where
+                + " ORDER BY j.created_at DESC LIMIT " + MAX_CANDIDATES;
+
+        Query query = entityManager.createNativeQuery("SELECT c.id FROM (SELECT j.id, j.created_at, j.search_vector"
+                + distanceColumn + " " + candidates + ") c "
+                + "ORDER BY ts_rank_cd(c.search_vector, to_tsquery('simple', :tsq), 32) "
+                + "/ (1.0 + EXTRACT(EPOCH FROM (CAST(:now AS TIMESTAMP) - c.created_at)) / :halfLifeSeconds)"
+                + geoFactor + " DESC, c.id DESC");
+        params.forEach(query::setParameter);
+        query.setParameter("now", LocalDateTime.now());
+        query.setParameter("halfLifeSeconds", (double) RECENCY_HALF_LIFE.toSeconds());
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<Long> ids = new ArrayList<>();
+        for (Object id : (List<Object>) query.getResultList()) {
+            ids.add(((Number) id).longValue());
+        }
+
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*) FROM (SELECT j.id " + candidates + ") c");
+        params.forEach(count::setParameter);
+        long total = ids.size() < pageable.getPageSize() && pageable.getOffset() == 0
+                ? ids.size() : ((Number) count.getSingleResult()).longValue();
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /**
+     * Any database: every term as a substring of title or description, candidates newest first, scored here.
+     * A term in the title counts twice as much as one in the description. Meant for MySQL/H2 development data;
+     * the LIKE filters use no index.
+     */
+    public Page<Long> searchPortable(List<String> terms, Long categoryId, GeoArea near, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", JobStatus.OPEN);
+        StringBuilder where = new StringBuilder("j.status = :status AND j.postedBy.blocked = false "
+                + "AND j.hiddenFromPublic = false AND j.moderationBlocked = false");
+        if (categoryId != null) {
+            where.append(" AND j.category.id = :categoryId");
+            params.put("categoryId", categoryId);
+        }
+        for (int i = 0; i < terms.size(); i++) {
+            where.append(" AND (LOWER(j.title) LIKE :t").append(i).append(" OR LOWER(j.description) LIKE :t").append(i).append(")");
+            params.put("t" + i, "%" + terms.get(i) + "%");
+        }
+        if (near != null) {
+            where.append(" AND j.location.latitude BETWEEN :minLat AND :maxLat")
+                    .append(" AND j.location.longitude BETWEEN :minLng AND :maxLng");
+            putBox(params, near);
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT j.id, j.title, j.description, j.createdAt, j.location.latitude, j.location.longitude "
+                        + "FROM Job j WHERE " + where + " ORDER BY j.createdAt DESC", Object[].class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(MAX_CANDIDATES);
+
+        Instant now = Instant.now();
+        double halfLifeSeconds = RECENCY_HALF_LIFE.toSeconds();
+        List<Scored> scored = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            String title = row[1] != null ? ((String) row[1]).toLowerCase(Locale.ROOT) : "";
+            String description = row[2] != null ? ((String) row[2]).toLowerCase(Locale.ROOT) : "";
+            double relevance = 0;
+            for (String term : terms) {
+                if (title.contains(term)) relevance += 2;
+                if (description.contains(term)) relevance += 1;
+            }
+            double score = relevance / (relevance + 1);
+            double ageSeconds = Math.max(0, Duration.between((Instant) row[3], now).toSeconds());
+            score /= 1 + ageSeconds / halfLifeSeconds;
+            if (near != null) {
+                Double km = near.distanceKm((Double) row[4], (Double) row[5]);
+                if (km == null || km > near.getRadiusKm()) continue;
+                score /= 1 + km / near.getRadiusKm();
+            }
+            scored.add(new Scored((Long) row[0], score));
+        }
+        scored.sort(Comparator.comparingDouble((Scored sc) -> sc.score).reversed()
+                .thenComparing(Comparator.comparingLong((Scored sc) -> sc.id).reversed()));
+        int from = (int) Math.min(pageable.getOffset(), scored.size());
+        int to = Math.min(from + pageable.getPageSize(), scored.size());
+        List<Long> ids = new ArrayList<>(to - from);
+        for (Scored s : scored.subList(from, to)) ids.add(s.id);
+        return new PageImpl<>(ids, pageable, scored.size());
+    }
+
+    /** Terms ANDed, the last one as a prefix so partially typed words match. Terms are letters/digits only. */
+    private static String toTsQuery(List<String> terms) {
+        StringBuilder tsq = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) tsq.append(" & ");
+            tsq.append(terms.get(i));
+            if (i == terms.size() - 1) tsq.append(":*");
+        }
+        return tsq.toString();
+    }
+
+    private static void putBox(Map<String, Object> params, GeoArea area) {
+        params.put("minLat", area.getMinLat());
+        params.put("maxLat", area.getMaxLat());
+        params.put("minLng", area.getMinLng());
+        params.put("maxLng", area.getMaxLng());
+    }
+
+    @RequiredArgsConstructor
+    private static class Scored {
+        private final long id;
+        private final double score;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.entity.MahirRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface MahirRatingStatsRepository extends JpaRepository<MahirRatingStats, Long> {
+
+    /**
+     * Applies a delta in one atomic UPDATE (no read-modify-write race between concurrent reviews).
+     * Returns 0 when the Mahir has no stats row yet.
+     */
+    @Modifying
+    @Query("UPDATE MahirRatingStats s SET s.ratingSum = s.ratingSum + :sumDelta, s.ratingCount = s.ratingCount + :countDelta, "
+            + "s.stars1 = s.stars1 + :d1, s.stars2 = s.stars2 + :d2, s.stars3 = s.stars3 + :d3, "
+            + "s.stars4 = s.stars4 + :d4, s.stars5 = s.stars5 + :d5, s.updatedAt = :now WHERE s.mahirId = :mahirId")
+    int applyDelta(@Param("mahirId") Long mahirId,
+                   @Param("sumDelta") long sumDelta,
+                   @Param("countDelta") long countDelta,
+                   @Param("d1") long d1,
+                   @Param("d2") long d2,
+                   @Param("d3") long d3,
+                   @Param("d4") long d4,
+                   @Param("d5") long d5,
+                   @Param("now") Instant now);
+}
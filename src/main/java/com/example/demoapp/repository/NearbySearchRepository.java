@@ -0,0 +1,106 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.entity.Job;
+import com.example.demoapp.entity.JobStatus;
+import com.example.demoapp.entity.Role;
+import com.example.demoapp.entity.User;
+import com.example.demoapp.geo.GeoArea;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distance-ordered searches for Mahirs and open jobs. The JPQL is assembled per request because the number of
+ * geohash cell ranges in a {@link GeoArea} varies (up to 9); everything else is plain portable arithmetic.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NearbySearchRepository {
+
+    private final EntityManager entityManager;
+
+    /** Same filters as {@link UserRepository#findActiveMahirsByCategory} / {@code findByRoleAndBlockedFalse}, nearest first. */
+    public Page<User> findActiveMahirsNear(GeoArea area, Long categoryId, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("role", Role.MAHIR);
+        StringBuilder where = new StringBuilder("e.role = :role AND e.blocked = false");
+        if (categoryId != null) {
+            where.append(" AND e.id IN (SELECT u2.id FROM User u2 JOIN u2.serviceCategories c WHERE c.id = :categoryId)");
+            params.put("categoryId", categoryId);
+        }
+        return search(User.class, "User", where, "e.location", area, params, pageable);
+    }
+
+    /** Same filters as {@link JobRepository#findPublicOpenJobViews}, nearest first. */
+    public Page<Job> findPublicOpenJobsNear(GeoArea area, Long categoryId, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", JobStatus.OPEN);
+        StringBuilder where = new StringBuilder("e.status = :status AND e.postedBy.blocked = false "
+                + "AND e.hiddenFromPublic = false AND e.moderationBlocked = false");
+        if (categoryId != null) {
+            where.append(" AND e.category.id = :categoryId");
+            params.put("categoryId", categoryId);
+        }
+        return search(Job.class, "Job", where, "e.location", area, params, pageable, "postedBy", "category");
+    }
+
+    /**
+     * @param fetch to-one associations the caller's mapper reads, loaded with the page instead of one select per row
+     */
+    private <T> Page<T> search(Class<T> type, String entityName, StringBuilder where, String location,
+                               GeoArea area, Map<String, Object> params, Pageable pageable, String... fetch) {
+        String lat = location + ".latitude";
+        String lng = location + ".longitude";
+        where.append(" AND ").append(lat).append(" BETWEEN :minLat AND :maxLat")
+                .append(" AND ").append(lng).append(" BETWEEN :minLng AND :maxLng");
+        List<String[]> cells = area.getCellRanges();
+        if (!cells.isEmpty()) {
+            where.append(" AND (");
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) where.append(" OR ");
+                where.append(location).append(".geohash BETWEEN :lo").append(i).append(" AND :hi").append(i);
+                params.put("lo" + i, cells.get(i)[0]);
+                params.put("hi" + i, cells.get(i)[1]);
+            }
+            where.append(")");
+        }
+        String distance = "((" + lat + " - :lat) * (" + lat + " - :lat) + ((" + lng + " - :lng) * :lngScale) * ((" + lng + " - :lng) * :lngScale))";
+        where.append(" AND ").append(distance).append(" <= :maxDistanceSquared");
+        params.put("minLat", area.getMinLat());
+        params.put("maxLat", area.getMaxLat());
+        params.put("minLng", area.getMinLng());
+        params.put("maxLng", area.getMaxLng());
+        params.put("lat", area.getLatitude());
+        params.put("lng", area.getLongitude());
+        params.put("lngScale", area.getLngScale());
+        params.put("maxDistanceSquared", area.getMaxDistanceSquared());
+
+        TypedQuery<T> query = entityManager.createQuery(
+                "SELECT e FROM " + entityName + " e WHERE " + where + " ORDER BY " + distance + ", e.id", type);
+        TypedQuery<Long> count = entityManager.createQuery(
+                "SELECT COUNT(e) FROM " + entityName + " e WHERE " + where, Long.class);
+        params.forEach((name, value) -> {
+            query.setParameter(name, value);
+            count.setParameter(name, value);
+        });
+        if (fetch.length > 0) {
+            EntityGraph<T> graph = entityManager.createEntityGraph(type);
+            graph.addAttributeNodes(fetch);
+            query.setHint("jakarta.persistence.loadgraph", graph);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<T> content = query.getResultList();
+        long total = content.size() < pageable.getPageSize() && pageable.getOffset() == 0 ? content.size() : count.getSingleResult();
+        return new PageImpl<>(content, pageable, total);
+    }
+}
@@ -4,13 +4,41 @@ import com.example.demoapp.entity.Notification;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
     long countByUserAndReadAtIsNull(User user);
+
+    /** Keyset first page: newest notifications, no count query. */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findSliceForUser(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Keyset seek on (user_id, created_at, id): notifications strictly older than the anchor row.
+     * The redundant {@code createdAt <= :createdAt} gives the planner an index range bound starting at the cursor;
+     * the OR alone is only applied as a filter after scanning from the newest row.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId "
+            + "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findSliceForUserBefore(@Param("userId") Long userId,
+                                               @Param("createdAt") Instant createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.createdAt < :createdAt "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findSliceForUserBeforeTime(@Param("userId") Long userId,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.entity.PlatformStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlatformStatRepository extends JpaRepository<PlatformStat, PlatformStat.Key> {
+
+    /** Every counter as [statKey, sum of its slots]. The table holds a few hundred rows whatever the data volume. */
+    @Query("SELECT s.statKey, SUM(s.statValue) FROM PlatformStat s GROUP BY s.statKey")
+    List<Object[]> sumByKey();
+
+    List<PlatformStat> findByStatKeyIn(Collection<String> statKeys);
+
+    /** Puts the whole value on slot 0 and zeroes the other slots. */
+    @Modifying
+    @Query("UPDATE PlatformStat s SET s.statValue = CASE WHEN s.slot = 0 THEN :value ELSE 0 END WHERE s.statKey = :statKey")
+    int reset(@Param("statKey") String statKey, @Param("value") long value);
+
+    /** Drops day keys of the given prefix older than {@code oldestKept} (ISO dates sort as strings). */
+    @Modifying
+    @Query("DELETE FROM PlatformStat s WHERE s.statKey LIKE CONCAT(:prefix, '%') AND s.statKey < :oldestKept")
+    int deleteDayKeysBefore(@Param("prefix") String prefix, @Param("oldestKept") String oldestKept);
+
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countUsersByRole();
+
+    @Query("SELECT j.status, COUNT(j) FROM Job j GROUP BY j.status")
+    List<Object[]> countJobsByStatus();
+
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countBookingsByStatus();
+}
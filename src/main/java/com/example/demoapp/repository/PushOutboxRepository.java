@@ -0,0 +1,43 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.entity.PushOutboxMessage;
+import com.example.demoapp.entity.PushOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PushOutboxRepository extends JpaRepository<PushOutboxMessage, Long> {
+
+    /**
+     * Due PENDING rows, locked FOR UPDATE SKIP LOCKED (lock timeout -2) so several instances can drain
+     * the outbox concurrently without claiming the same message twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM PushOutboxMessage o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<PushOutboxMessage> findDueForUpdate(@Param("status") PushOutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    /** Re-queues rows whose sender died mid-flight (SENDING lease expired). */
+    @Modifying
+    @Query("UPDATE PushOutboxMessage o SET o.status = com.example.demoapp.entity.PushOutboxStatus.PENDING "
+            + "WHERE o.status = com.example.demoapp.entity.PushOutboxStatus.SENDING AND o.nextAttemptAt < :now")
+    int releaseExpiredLeases(@Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM PushOutboxMessage o WHERE o.status IN :statuses AND o.createdAt < :cutoff")
+    int deleteFinishedBefore(@Param("statuses") List<PushOutboxStatus> statuses, @Param("cutoff") Instant cutoff);
+
+    /** Outbox backlog, reported by the {@code firebase} health component. */
+    long countByStatus(PushOutboxStatus status);
+}
@@ -4,11 +4,13 @@ import com.example.demoapp.entity.Review;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,10 +18,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     long count();
 
+    @EntityGraph(attributePaths = {"reviewer", "mahir"})
     Page<Review> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    @EntityGraph(attributePaths = {"reviewer", "mahir"})
     Page<Review> findByMahirOrderByCreatedAtDesc(User mahir, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"reviewer", "mahir"})
     Page<Review> findByMahirAndHiddenFromPublicFalseOrderByCreatedAtDesc(User mahir, Pageable pageable);
 
     Optional<Review> findByBookingId(Long bookingId);
@@ -32,6 +37,14 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT COUNT(r) FROM Review r WHERE r.mahir.id = :mahirId AND r.hiddenFromPublic = false")
     long countPublicByMahirId(@Param("mahirId") Long mahirId);
 
+    /** Public review histogram of one Mahir: rows of [rating, count]. Source of truth for mahir_rating_stats. */
+    @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.mahir.id = :mahirId AND r.hiddenFromPublic = false GROUP BY r.rating")
+    List<Object[]> countPublicByRatingForMahir(@Param("mahirId") Long mahirId);
+
+    /** Same histogram for every Mahir: rows of [mahirId, rating, count]. Used by the stats rebuild. */
+    @Query("SELECT r.mahir.id, r.rating, COUNT(r) FROM Review r WHERE r.hiddenFromPublic = false GROUP BY r.mahir.id, r.rating")
+    List<Object[]> countPublicByMahirAndRating();
+
     long countByMahir(User mahir);
 
     long countByReviewer(User reviewer);
@@ -4,12 +4,14 @@ import com.example.demoapp.entity.SupportThread;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SupportThreadRepository extends JpaRepository<SupportThread, Long> {
 
+    @EntityGraph(attributePaths = "user")
     Page<SupportThread> findAllByOrderByUpdatedAtDesc(Pageable pageable);
 
     Page<SupportThread> findByUserOrderByUpdatedAtDesc(User user, Pageable pageable);
@@ -5,9 +5,12 @@ import com.example.demoapp.entity.UserMembership;
 import com.example.demoapp.entity.UserMembershipStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +19,33 @@ public interface UserMembershipRepository extends JpaRepository<UserMembership,
 
     Optional<UserMembership> findByUserAndStatus(User user, UserMembershipStatus status);
 
+    @EntityGraph(attributePaths = "plan")
     List<UserMembership> findByUserOrderByCreatedAtDesc(User user);
 
-    Page<UserMembership> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query(value = "SELECT um.id AS id, u.id AS userId, u.email AS userEmail, p.id AS planId, p.name AS planName, "
+            + "p.code AS planCode, um.status AS status, um.startedAt AS startedAt, um.expiresAt AS expiresAt "
+            + "FROM UserMembership um JOIN um.user u JOIN um.plan p ORDER BY um.createdAt DESC",
+            countQuery = "SELECT COUNT(um) FROM UserMembership um")
+    Page<MembershipRowView> findAllRows(Pageable pageable);
+
+    /** Admin membership list row, read without loading the user or plan entities. */
+    interface MembershipRowView {
+        Long getId();
+
+        Long getUserId();
+
+        String getUserEmail();
+
+        Long getPlanId();
+
+        String getPlanName();
+
+        String getPlanCode();
+
+        UserMembershipStatus getStatus();
+
+        Instant getStartedAt();
+
+        Instant getExpiresAt();
+    }
 }
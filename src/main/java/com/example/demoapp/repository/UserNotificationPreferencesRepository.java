@@ -5,10 +5,14 @@ import com.example.demoapp.entity.UserNotificationPreferences;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserNotificationPreferencesRepository extends JpaRepository<UserNotificationPreferences, Long> {
 
     Optional<UserNotificationPreferences> findByUser(User user);
+
+    List<UserNotificationPreferences> findByUserIdIn(Collection<Long> userIds);
 }
@@ -1,15 +1,21 @@
 package com.example.demoapp.repository;
 
+import com.example.demoapp.entity.AccountStatus;
+import com.example.demoapp.entity.AccountType;
 import com.example.demoapp.entity.Role;
 import com.example.demoapp.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,16 +23,89 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     long countByRole(Role role);
 
-    @Query("SELECT u FROM User u WHERE " +
-            "(COALESCE(:search, '') = '' OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(u.fullName) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+    /** Select list behind {@link AdminUserView}; callers append WHERE / ORDER BY. */
+    String ADMIN_VIEW_SELECT = "SELECT u.id AS id, u.role AS role, u.fullName AS fullName, u.email AS email, " +
+            "u.phoneNumber AS phoneNumber, u.dateOfBirth AS dateOfBirth, u.location.streetAddress AS streetAddress, " +
+            "u.location.latitude AS latitude, u.location.longitude AS longitude, u.accountType AS accountType, " +
+            "u.customServiceName AS customServiceName, u.avatarUrl AS avatarUrl, u.bio AS bio, u.credits AS credits, " +
+            "u.createdAt AS createdAt, u.blocked AS blocked, u.blockedReason AS blockedReason, " +
+            "u.accountStatus AS accountStatus FROM User u ";
+
+    String ADMIN_SEARCH_FILTER = "(:search = '' OR LOWER(u.email) LIKE CONCAT('%', :search, '%') " +
+            "OR LOWER(u.fullName) LIKE CONCAT('%', :search, '%') " +
+            "OR (:digits <> '' AND u.phoneNumber LIKE CONCAT('%', :digits, '%'))) " +
             "AND (:role IS NULL OR u.role = :role) " +
-            "AND (:blocked IS NULL OR u.blocked = :blocked)")
-    Page<User> adminSearch(
+            "AND (:blocked IS NULL OR u.blocked = :blocked)";
+
+    /** Role/blocked filters of the native searches below; {@code role} is the enum name or null. */
+    String NATIVE_USER_FILTERS = "AND (CAST(:role AS VARCHAR) IS NULL OR u.role = CAST(:role AS VARCHAR)) " +
+            "AND (CAST(:blocked AS BOOLEAN) IS NULL OR u.blocked = CAST(:blocked AS BOOLEAN)) ";
+
+    String TRIGRAM_USER_MATCH = "FROM users u WHERE (lower(u.email) LIKE :contains OR lower(u.full_name) LIKE :contains " +
+            "OR u.phone_number LIKE :phoneContains OR :q <% lower(u.full_name) OR :q <% lower(u.email)) " +
+            NATIVE_USER_FILTERS;
+
+    String PREFIX_USER_MATCH = "FROM users u WHERE (lower(u.email) LIKE :prefix OR lower(u.full_name) LIKE :prefix) " +
+            NATIVE_USER_FILTERS;
+
+    /**
+     * Portable admin search (no special indexes): lowercase {@code search} as a substring of email or name, or
+     * {@code digits} inside the phone number. Email/name prefix matches sort first, then the pageable's sort.
+     */
+    @Query(value = ADMIN_VIEW_SELECT + "WHERE " + ADMIN_SEARCH_FILTER + " ORDER BY CASE WHEN " +
+            "LOWER(u.email) LIKE CONCAT(:search, '%') OR LOWER(u.fullName) LIKE CONCAT(:search, '%') THEN 0 ELSE 1 END",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE " + ADMIN_SEARCH_FILTER)
+    Page<AdminUserView> adminSearch(
             @Param("search") String search,
+            @Param("digits") String digits,
             @Param("role") Role role,
             @Param("blocked") Boolean blocked,
             Pageable pageable);
 
+    /**
+     * Postgres admin search on the pg_trgm indexes (V8): substring of email, name or phone, or a fuzzy word match
+     * ({@code <%}) on name or email. Ranked prefix matches first, then by word similarity, then newest.
+     * {@code q} is the lowercase query of at least 3 characters; the LIKE patterns are escaped by the caller.
+     */
+    @Query(value = "SELECT u.id " + TRIGRAM_USER_MATCH +
+            "ORDER BY CASE WHEN lower(u.email) LIKE :prefix OR lower(u.full_name) LIKE :prefix " +
+            "OR lower(u.full_name) LIKE :wordPrefix THEN 0 ELSE 1 END, " +
+            "GREATEST(word_similarity(:q, lower(u.full_name)), word_similarity(:q, lower(u.email))) DESC, u.id DESC " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchIdsByTrigram(@Param("q") String q,
+                                  @Param("contains") String contains,
+                                  @Param("prefix") String prefix,
+                                  @Param("wordPrefix") String wordPrefix,
+                                  @Param("phoneContains") String phoneContains,
+                                  @Param("role") String role,
+                                  @Param("blocked") Boolean blocked,
+                                  @Param("limit") int limit,
+                                  @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) " + TRIGRAM_USER_MATCH, nativeQuery = true)
+    long countByTrigram(@Param("q") String q,
+                        @Param("contains") String contains,
+                        @Param("phoneContains") String phoneContains,
+                        @Param("role") String role,
+                        @Param("blocked") Boolean blocked);
+
+    /** Queries of 1-2 characters have no trigram; email/name prefix only, on the text_pattern_ops indexes (V8). */
+    @Query(value = "SELECT u.id " + PREFIX_USER_MATCH + "ORDER BY u.id DESC LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Long> searchIdsByPrefix(@Param("prefix") String prefix,
+                                 @Param("role") String role,
+                                 @Param("blocked") Boolean blocked,
+                                 @Param("limit") int limit,
+                                 @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) " + PREFIX_USER_MATCH, nativeQuery = true)
+    long countByPrefix(@Param("prefix") String prefix,
+                       @Param("role") String role,
+                       @Param("blocked") Boolean blocked);
+
+    @Query(ADMIN_VIEW_SELECT + "WHERE u.id IN :ids")
+    List<AdminUserView> findAdminViewsByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -41,11 +120,99 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT DISTINCT u FROM User u JOIN u.serviceCategories c WHERE u.role = :role AND u.blocked = false AND c.id = :categoryId")
     Page<User> findActiveMahirsByCategory(@Param("role") Role role, @Param("categoryId") Long categoryId, Pageable pageable);
 
+    /** Recipient ids for new-job alerts, keyset-paged by id so every Mahir in the category can be walked in chunks. */
+    @Query("SELECT DISTINCT u.id FROM User u JOIN u.serviceCategories c "
+            + "WHERE u.role = :role AND u.blocked = false AND c.id = :categoryId AND u.id > :afterId ORDER BY u.id")
+    List<Long> findActiveMahirIdsByCategory(
+            @Param("role") Role role,
+            @Param("categoryId") Long categoryId,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
     Page<User> findByRoleAndBlockedFalse(Role role, Pageable pageable);
 
     Page<User> findByBlockedTrue(Pageable pageable);
 
     Page<User> findByBlockedFalse(Pageable pageable);
 
+    /** Keyset walk over listable Mahirs, used to (re)build the in-memory Mahir directory. */
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.blocked = false AND u.id > :afterId ORDER BY u.id")
+    List<Long> findActiveIdsByRole(@Param("role") Role role, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.serviceCategories WHERE u.id IN :ids")
+    List<User> findAllWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Rows saved before the geohash column existed, as [id, latitude, longitude] (see GeoHashBackfillRunner). */
+    @Query("SELECT u.id, u.location.latitude, u.location.longitude FROM User u WHERE u.location.latitude IS NOT NULL AND u.location.longitude IS NOT NULL "
+            + "AND u.location.geohash IS NULL")
+    List<Object[]> findMissingGeohash(Pageable pageable);
+
     long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime start, LocalDateTime endExclusive);
+
+    /** Registrations per stored half hour as [earliest createdAt, count]; see {@link ChatMessageRepository#countPerHalfHour}. */
+    @Query("SELECT MIN(u.createdAt), COUNT(u) FROM User u "
+            + "WHERE u.createdAt >= :start AND u.createdAt < :endExclusive "
+            + "GROUP BY year(u.createdAt), month(u.createdAt), day(u.createdAt), hour(u.createdAt), "
+            + "CASE WHEN minute(u.createdAt) < 30 THEN 0 ELSE 1 END")
+    List<Object[]> countPerHalfHour(@Param("start") LocalDateTime start, @Param("endExclusive") LocalDateTime endExclusive);
+
+    @Query("SELECT MIN(u.createdAt) FROM User u")
+    LocalDateTime findFirstCreatedAt();
+
+    @Query("SELECT u.id AS id, u.fcmToken AS fcmToken FROM User u WHERE u.id IN :ids AND u.fcmToken IS NOT NULL")
+    List<FcmTokenView> findFcmTokens(@Param("ids") Collection<Long> ids);
+
+    /** Drops device tokens FCM reported as unregistered; a token re-sent by the app since then is left alone. */
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
+    /** Service categories of a page of users: rows of [userId, categoryId, name, description]. */
+    @Query("SELECT u.id, c.id, c.name, c.description FROM User u JOIN u.serviceCategories c WHERE u.id IN :ids")
+    List<Object[]> findServiceCategoryRows(@Param("ids") Collection<Long> ids);
+
+    /** Admin user list row; leaves out the password hash, FCM token and other columns the list never shows. */
+    interface AdminUserView {
+        Long getId();
+
+        Role getRole();
+
+        String getFullName();
+
+        String getEmail();
+
+        String getPhoneNumber();
+
+        LocalDate getDateOfBirth();
+
+        String getStreetAddress();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        AccountType getAccountType();
+
+        String getCustomServiceName();
+
+        String getAvatarUrl();
+
+        String getBio();
+
+        Integer getCredits();
+
+        LocalDateTime getCreatedAt();
+
+        Boolean getBlocked();
+
+        String getBlockedReason();
+
+        AccountStatus getAccountStatus();
+    }
+
+    interface FcmTokenView {
+        Long getId();
+
+        String getFcmToken();
+    }
 }
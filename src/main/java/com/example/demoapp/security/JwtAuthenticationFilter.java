@@ -13,8 +13,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.example.demoapp.entity.Role;
-
 import java.io.IOException;
 
 @Component
@@ -35,20 +33,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         String token = authHeader.substring(7);
         try {
-            if (jwtService.isAccessToken(token)) {
-                var claims = jwtService.parseToken(token);
-                String email = claims.getSubject();
-                Long userId = claims.get("userId", Long.class);
-                String roleStr = claims.get("role", String.class);
-                Role role = Role.USER;
-                if (roleStr != null) {
-                    try {
-                        role = Role.valueOf(roleStr);
-                    } catch (IllegalArgumentException ignored) {
-                        // keep USER
-                    }
-                }
-                var principal = UserPrincipal.create(userId, email, role);
+            UserPrincipal principal = jwtService.toAccessPrincipal(token);
+            if (principal != null) {
                 var auth = new UsernamePasswordAuthenticationToken(
                         principal,
                         null,
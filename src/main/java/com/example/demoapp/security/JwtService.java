@@ -1,16 +1,25 @@
 package com.example.demoapp.security;
 
 import com.example.demoapp.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
@@ -24,8 +33,33 @@ public class JwtService {
     @Value("${app.jwt.refresh-expiration-ms:604800000}")  // 7 days
     private long refreshExpirationMs;
 
+    /** Max verified access tokens kept in memory; 0 verifies every request. */
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * Access principals keyed by SHA-256 of the token, each expiring at the token's {@code exp}. A hit skips the
+     * HMAC check and JSON parsing; the raw token is never stored. Null when disabled.
+     */
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        if (verifiedCacheSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(new UntilTokenExpiry())
+                    .build();
+        }
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateAccessToken(String email, Long userId, Role role) {
@@ -55,11 +89,7 @@ public class JwtService {
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean isAccessToken(String token) {
@@ -70,6 +100,54 @@ public class JwtService {
         }
     }
 
+    /**
+     * Verifies an access token and builds the principal from its claims.
+     * Returns null for refresh tokens; throws for invalid or expired tokens.
+     * Tokens verified before are answered from memory until they expire.
+     */
+    public UserPrincipal toAccessPrincipal(String token) {
+        if (verifiedTokens == null) {
+            return verifyAccessPrincipal(token).principal;
+        }
+        String key = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.principal;
+        }
+        VerifiedToken verified = verifyAccessPrincipal(token);
+        if (verified.principal != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified.principal;
+    }
+
+    private VerifiedToken verifyAccessPrincipal(String token) {
+        Claims claims = parseToken(token);
+        if (!"access".equals(claims.get("type", String.class))) {
+            return new VerifiedToken(null, 0);
+        }
+        Role role = Role.USER;
+        String roleStr = claims.get("role", String.class);
+        if (roleStr != null) {
+            try {
+                role = Role.valueOf(roleStr);
+            } catch (IllegalArgumentException ignored) {
+                // keep USER
+            }
+        }
+        UserPrincipal principal = UserPrincipal.create(claims.get("userId", Long.class), claims.getSubject(), role);
+        return new VerifiedToken(principal, claims.getExpiration() != null ? claims.getExpiration().getTime() : 0);
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public boolean isRefreshToken(String token) {
         try {
             return "refresh".equals(parseToken(token).get("type", String.class));
@@ -90,4 +168,35 @@ public class JwtService {
     public long getAccessExpirationSeconds() {
         return accessExpirationMs / 1000;
     }
+
+    private static final class VerifiedToken {
+
+        final UserPrincipal principal;
+        /** Token {@code exp} in epoch millis; 0 if the token has none (then the entry is not kept). */
+        final long expiresAtMillis;
+
+        VerifiedToken(UserPrincipal principal, long expiresAtMillis) {
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMs = value.expiresAtMillis - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.demoapp.security;
+
+import com.example.demoapp.repository.ChatThreadRepository;
+import com.example.demoapp.service.ChatRealtimeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates STOMP CONNECT frames with the same access token as REST ({@code Authorization: Bearer ...}
+ * native header) and only lets booking participants SUBSCRIBE to {@code /topic/chats/{threadId}}.
+ * <p>
+ * Checks participation against the repository rather than {@code ChatService}: the service reaches the broker
+ * through {@code ChatRealtimeService}, and the broker configuration needs this interceptor.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final ChatThreadRepository chatThreadRepository;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            String header = accessor.getFirstNativeHeader("Authorization");
+            if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+                throw new AccessDeniedException("Authentication required");
+            }
+            UserPrincipal principal;
+            try {
+                principal = jwtService.toAccessPrincipal(header.substring(7));
+            } catch (Exception e) {
+                throw new AccessDeniedException("Invalid or expired token");
+            }
+            if (principal == null) {
+                throw new AccessDeniedException("Access token required");
+            }
+            accessor.setUser(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            UserPrincipal principal = principalOf(accessor);
+            Long threadId = threadIdOf(accessor.getDestination());
+            if (threadId == null || !chatThreadRepository.isParticipant(threadId, principal.getUserId())) {
+                throw new AccessDeniedException("You are not a participant in this chat");
+            }
+        } else if (accessor.getCommand() == StompCommand.SEND) {
+            // Messages are sent over REST so they go through validation and notifications.
+            throw new AccessDeniedException("Use POST /api/chats/{threadId}/messages to send messages");
+        }
+        return message;
+    }
+
+    private UserPrincipal principalOf(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof UsernamePasswordAuthenticationToken auth
+                && auth.getPrincipal() instanceof UserPrincipal p) {
+            return p;
+        }
+        throw new AccessDeniedException("Authentication required");
+    }
+
+    private Long threadIdOf(String destination) {
+        if (destination == null || !destination.startsWith(ChatRealtimeService.THREAD_TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(ChatRealtimeService.THREAD_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
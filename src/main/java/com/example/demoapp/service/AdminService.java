@@ -1,14 +1,23 @@
 package com.example.demoapp.service;
 
+import com.example.demoapp.catalog.CatalogVersions;
+import com.example.demoapp.config.CacheConfig;
 import com.example.demoapp.dto.*;
 import com.example.demoapp.entity.*;
+import com.example.demoapp.event.MahirProfileChangedEvent;
+import com.example.demoapp.event.OpenJobChangedEvent;
 import com.example.demoapp.exception.BadRequestException;
 import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnauthorizedException;
 import com.example.demoapp.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,11 +26,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -45,10 +55,72 @@ public class AdminService {
     private final PasswordEncoder passwordEncoder;
     private final CategoryRepository categoryRepository;
     private final MembershipPlanUserSyncService membershipPlanUserSyncService;
+    private final MahirRatingService mahirRatingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final CatalogVersions catalogVersions;
+    private final PlatformStatsService platformStatsService;
+    private final EngagementStatsService engagementStatsService;
+
+    @Value("${app.admin-user-search.trigram:false}")
+    private boolean trigramUserSearch;
 
     public Page<UserResponse> listUsers(String search, Role role, Boolean blocked, Pageable pageable) {
-        String q = search != null ? search.trim() : "";
-        return userRepository.adminSearch(q, role, blocked, pageable).map(this::toAdminUserResponse);
+        String q = search != null ? search.trim().toLowerCase(Locale.ROOT) : "";
+        Page<UserRepository.AdminUserView> page = trigramUserSearch && !q.isEmpty()
+                ? searchUsersByTrigram(q, role, blocked, pageable)
+                : userRepository.adminSearch(q, phoneDigits(q), role, blocked, pageable);
+        Map<Long, List<UserResponse.CategoryResponse>> categories = new HashMap<>();
+        if (page.hasContent()) {
+            List<Long> ids = page.getContent().stream().map(UserRepository.AdminUserView::getId).collect(Collectors.toList());
+            for (Object[] row : userRepository.findServiceCategoryRows(ids)) {
+                categories.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add(UserResponse.CategoryResponse.builder()
+                        .id((Long) row[1])
+                        .name((String) row[2])
+                        .description((String) row[3])
+                        .build());
+            }
+        }
+        return page.map(v -> toAdminUserResponse(v, categories.getOrDefault(v.getId(), List.of())));
+    }
+
+    /**
+     * Postgres search path: ranked ids from the trigram/prefix indexes, then one query for the rows of that page.
+     * The ranking decides the order, so the pageable's sort is not applied.
+     */
+    private Page<UserRepository.AdminUserView> searchUsersByTrigram(String q, Role role, Boolean blocked, Pageable pageable) {
+        String like = escapeLike(q);
+        String roleName = role != null ? role.name() : null;
+        List<Long> ids;
+        long total;
+        if (q.length() < 3) {
+            ids = userRepository.searchIdsByPrefix(like + "%", roleName, blocked, pageable.getPageSize(), pageable.getOffset());
+            total = userRepository.countByPrefix(like + "%", roleName, blocked);
+        } else {
+            String digits = phoneDigits(q);
+            String phoneContains = digits.isEmpty() ? null : "%" + digits + "%";
+            ids = userRepository.searchIdsByTrigram(q, "%" + like + "%", like + "%", "% " + like + "%", phoneContains,
+                    roleName, blocked, pageable.getPageSize(), pageable.getOffset());
+            total = userRepository.countByTrigram(q, "%" + like + "%", phoneContains, roleName, blocked);
+        }
+        Map<Long, UserRepository.AdminUserView> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (UserRepository.AdminUserView v : userRepository.findAdminViewsByIdIn(ids)) {
+                byId.put(v.getId(), v);
+            }
+        }
+        List<UserRepository.AdminUserView> rows = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    /** Digits of the query when it has at least three, so "+92 300" also finds "+923001234567"; otherwise "". */
+    private static String phoneDigits(String q) {
+        String digits = q.replaceAll("\\D", "");
+        return digits.length() >= 3 ? digits : "";
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     public AdminUserDetailResponse getUserDetail(Long userId) {
@@ -81,6 +153,10 @@ public class AdminService {
         user.setBlockedAt(user.isBlocked() ? Instant.now() : null);
         user.setBlockedReason(user.isBlocked() ? request.resolveReason() : null);
         userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(userId));
+        if (user.getRole() == Role.USER) {
+            eventPublisher.publishEvent(OpenJobChangedEvent.forPoster(userId));
+        }
         return toAdminUserResponse(user);
     }
 
@@ -98,8 +174,10 @@ public class AdminService {
     public ReviewResponse setReviewVisibility(Long reviewId, AdminReviewVisibilityRequest request) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", reviewId));
+        Integer ratingBefore = MahirRatingService.publicRating(review);
         review.setHiddenFromPublic(Boolean.TRUE.equals(request.getHiddenFromPublic()));
         reviewRepository.save(review);
+        mahirRatingService.recordChange(review.getMahir().getId(), ratingBefore, MahirRatingService.publicRating(review));
         return toAdminReviewResponse(review);
     }
 
@@ -146,6 +224,7 @@ public class AdminService {
 
     @Transactional
     public FaqResponse createFaq(FaqRequest request) {
+        catalogVersions.markChanged(CatalogVersions.Resource.FAQS);
         Faq faq = Faq.builder()
                 .question(request.getQuestion().trim())
                 .answer(request.getAnswer().trim())
@@ -157,6 +236,7 @@ public class AdminService {
 
     @Transactional
     public FaqResponse updateFaq(Long id, FaqRequest request) {
+        catalogVersions.markChanged(CatalogVersions.Resource.FAQS);
         Faq faq = faqRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("FAQ", id));
         if (request.getQuestion() != null) {
@@ -176,6 +256,7 @@ public class AdminService {
 
     @Transactional
     public void deleteFaq(Long id) {
+        catalogVersions.markChanged(CatalogVersions.Resource.FAQS);
         if (!faqRepository.existsById(id)) {
             throw new ResourceNotFoundException("FAQ", id);
         }
@@ -191,6 +272,7 @@ public class AdminService {
 
     @Transactional
     public MembershipPlanResponse createMembershipPlan(MembershipPlanRequest request) {
+        catalogVersions.markChanged(CatalogVersions.Resource.PLANS);
         if (membershipPlanRepository.findByCode(request.getCode().trim()).isPresent()) {
             throw new BadRequestException("Plan code already exists: " + request.getCode());
         }
@@ -210,6 +292,7 @@ public class AdminService {
 
     @Transactional
     public MembershipPlanResponse updateMembershipPlan(Long id, MembershipPlanRequest request) {
+        catalogVersions.markChanged(CatalogVersions.Resource.PLANS);
         MembershipPlan plan = membershipPlanRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Membership plan", id));
         if (request.getName() != null) {
@@ -247,6 +330,7 @@ public class AdminService {
 
     @Transactional
     public void deleteMembershipPlan(Long id) {
+        catalogVersions.markChanged(CatalogVersions.Resource.PLANS);
         MembershipPlan plan = membershipPlanRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Membership plan", id));
         plan.setActive(false);
@@ -254,8 +338,18 @@ public class AdminService {
     }
 
     public Page<AdminMembershipRowResponse> listAllMemberships(Pageable pageable) {
-        return userMembershipRepository.findAllByOrderByCreatedAtDesc(pageable)
-                .map(this::toMembershipRow);
+        return userMembershipRepository.findAllRows(pageable)
+                .map(v -> AdminMembershipRowResponse.builder()
+                        .id(v.getId())
+                        .userId(v.getUserId())
+                        .userEmail(v.getUserEmail())
+                        .planId(v.getPlanId())
+                        .planName(v.getPlanName())
+                        .planCode(v.getPlanCode())
+                        .status(v.getStatus())
+                        .startedAt(v.getStartedAt())
+                        .expiresAt(v.getExpiresAt())
+                        .build());
     }
 
     @Transactional
@@ -299,53 +393,45 @@ public class AdminService {
         membershipPlanUserSyncService.onMembershipCancelled(user);
     }
 
+    public List<AdminCacheStatsResponse> listCacheStats() {
+        List<AdminCacheStatsResponse> out = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                com.github.benmanes.caffeine.cache.stats.CacheStats stats = caffeine.stats();
+                out.add(AdminCacheStatsResponse.builder()
+                        .name(name)
+                        .size(caffeine.estimatedSize())
+                        .hits(stats.hitCount())
+                        .misses(stats.missCount())
+                        .hitRate(stats.hitRate())
+                        .evictions(stats.evictionCount())
+                        .build());
+            }
+        }
+        return out;
+    }
+
     public AdminDashboardSummaryResponse getDashboardSummary() {
-        Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
+        PlatformStatsService.Snapshot stats = platformStatsService.snapshot();
         return AdminDashboardSummaryResponse.builder()
-                .totalUsers(userRepository.count())
-                .totalCustomers(userRepository.countByRole(Role.USER))
-                .totalMahirs(userRepository.countByRole(Role.MAHIR))
-                .totalAdmins(userRepository.countByRole(Role.ADMIN))
-                .totalJobs(jobRepository.count())
-                .openJobs(jobRepository.countByStatus(JobStatus.OPEN))
-                .totalBookings(bookingRepository.count())
-                .completedBookings(bookingRepository.countByStatus(BookingStatus.COMPLETED))
-                .totalReviews(reviewRepository.count())
-                .chatMessagesLast7Days(chatMessageRepository.countByCreatedAtAfter(weekAgo))
+                .totalUsers(stats.totalUsers())
+                .totalCustomers(stats.get(PlatformStatsService.usersKey(Role.USER)))
+                .totalMahirs(stats.get(PlatformStatsService.usersKey(Role.MAHIR)))
+                .totalAdmins(stats.get(PlatformStatsService.usersKey(Role.ADMIN)))
+                .totalJobs(stats.totalJobs())
+                .openJobs(stats.get(PlatformStatsService.jobsKey(JobStatus.OPEN)))
+                .totalBookings(stats.totalBookings())
+                .completedBookings(stats.get(PlatformStatsService.bookingsKey(BookingStatus.COMPLETED)))
+                .totalReviews(stats.get(PlatformStatsService.REVIEWS))
+                .chatMessagesLast7Days(stats.chatMessagesLastDays(7))
                 .activeBanners(bannerRepository.countCurrentlyValid(Instant.now()))
                 .build();
     }
 
-    public AdminEngagementResponse getDashboardEngagement(LocalDate from, LocalDate to) {
-        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
-        LocalDate start = from != null ? from : end.minusDays(13);
-        if (start.isAfter(end)) {
-            LocalDate tmp = start;
-            start = end;
-            end = tmp;
-        }
-        List<AdminEngagementResponse.DailyCount> chatByDay = new ArrayList<>();
-        List<AdminEngagementResponse.DailyCount> regByDay = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            Instant dayStart = d.atStartOfDay(ZoneOffset.UTC).toInstant();
-            Instant dayEnd = d.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
-            long msgs = chatMessageRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(dayStart, dayEnd);
-            chatByDay.add(AdminEngagementResponse.DailyCount.builder()
-                    .date(d.toString())
-                    .count(msgs)
-                    .build());
-            LocalDateTime lStart = LocalDateTime.ofInstant(dayStart, ZoneOffset.UTC);
-            LocalDateTime lEnd = LocalDateTime.ofInstant(dayEnd, ZoneOffset.UTC);
-            long regs = userRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(lStart, lEnd);
-            regByDay.add(AdminEngagementResponse.DailyCount.builder()
-                    .date(d.toString())
-                    .count(regs)
-                    .build());
-        }
-        return AdminEngagementResponse.builder()
-                .chatMessagesByDay(chatByDay)
-                .newRegistrationsByDay(regByDay)
-                .build();
+    public AdminEngagementResponse getDashboardEngagement(LocalDate from, LocalDate to,
+                                                          AdminEngagementResponse.Granularity granularity) {
+        return engagementStatsService.getEngagement(from, to, granularity);
     }
 
     @Transactional
@@ -398,6 +484,10 @@ public class AdminService {
             user.setCredits(request.getCredits());
         }
         userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(userId));
+        if (request.getBlocked() != null && user.getRole() == Role.USER) {
+            eventPublisher.publishEvent(OpenJobChangedEvent.forPoster(userId));
+        }
         return toAdminUserResponse(user);
     }
 
@@ -416,6 +506,7 @@ public class AdminService {
         }
         try {
             userRepository.delete(user);
+            eventPublisher.publishEvent(new MahirProfileChangedEvent(userId));
         } catch (DataIntegrityViolationException e) {
             throw new BadRequestException("Cannot delete user: related data still exists");
         }
@@ -452,6 +543,7 @@ public class AdminService {
             user.setCredits(3);
         }
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(user.getId()));
         return toAdminUserResponse(user);
     }
 
@@ -507,6 +599,7 @@ public class AdminService {
     public ReviewResponse patchReview(Long reviewId, AdminReviewPatchRequest request) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", reviewId));
+        Integer ratingBefore = MahirRatingService.publicRating(review);
         if (request.getHiddenFromPublic() != null) {
             review.setHiddenFromPublic(Boolean.TRUE.equals(request.getHiddenFromPublic()));
         }
@@ -521,6 +614,7 @@ public class AdminService {
             review.setComment(request.getComment());
         }
         reviewRepository.save(review);
+        mahirRatingService.recordChange(review.getMahir().getId(), ratingBefore, MahirRatingService.publicRating(review));
         return toAdminReviewResponse(review);
     }
 
@@ -556,6 +650,7 @@ public class AdminService {
             job.setHiddenFromPublic(false);
         }
         jobRepository.save(job);
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(jobId));
         return toJobResponse(job);
     }
 
@@ -576,7 +671,10 @@ public class AdminService {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", jobId));
         for (Booking b : bookingRepository.findByJob_Id(job.getId())) {
-            reviewRepository.findByBookingId(b.getId()).ifPresent(reviewRepository::delete);
+            reviewRepository.findByBookingId(b.getId()).ifPresent(review -> {
+                reviewRepository.delete(review);
+                mahirRatingService.recordChange(review.getMahir().getId(), MahirRatingService.publicRating(review), null);
+            });
             chatThreadRepository.findByBookingId(b.getId()).ifPresent(thread -> {
                 chatMessageRepository.deleteByThread(thread);
                 chatThreadRepository.delete(thread);
@@ -585,6 +683,7 @@ public class AdminService {
         }
         bidRepository.deleteAll(bidRepository.findByJob_Id(job.getId()));
         jobRepository.delete(job);
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(jobId));
     }
 
     private void validatePlanAudience(MembershipPlan plan, Role userRole) {
@@ -629,8 +728,36 @@ public class AdminService {
                 .build();
     }
 
+    private UserResponse toAdminUserResponse(UserRepository.AdminUserView v,
+                                             List<UserResponse.CategoryResponse> serviceCategories) {
+        boolean hasLocation = v.getStreetAddress() != null || v.getLatitude() != null || v.getLongitude() != null;
+        return UserResponse.builder()
+                .id(v.getId())
+                .role(v.getRole())
+                .fullName(v.getFullName())
+                .email(v.getEmail())
+                .phoneNumber(v.getPhoneNumber())
+                .dateOfBirth(v.getDateOfBirth())
+                .location(!hasLocation ? null : LocationDto.builder()
+                        .streetAddress(v.getStreetAddress())
+                        .latitude(v.getLatitude())
+                        .longitude(v.getLongitude())
+                        .build())
+                .accountType(v.getAccountType())
+                .serviceCategories(serviceCategories)
+                .customServiceName(v.getCustomServiceName())
+                .avatarUrl(v.getAvatarUrl())
+                .profilePictureUrl(v.getAvatarUrl())
+                .bio(v.getBio())
+                .credits(v.getCredits())
+                .createdAt(v.getCreatedAt())
+                .blocked(v.getBlocked())
+                .blockedReason(v.getBlockedReason())
+                .accountStatus(v.getAccountStatus())
+                .build();
+    }
+
     private JobResponse toJobResponse(Job job) {
-        int bidCount = (int) bidRepository.countByJobId(job.getId());
         return JobResponse.builder()
                 .id(job.getId())
                 .postedById(job.getPostedBy().getId())
@@ -650,7 +777,7 @@ public class AdminService {
                 .budgetMax(job.getBudgetMax())
                 .durationHours(job.getDurationHours())
                 .status(job.getStatus())
-                .bidCount(bidCount)
+                .bidCount(job.getBidCount())
                 .hiddenFromPublic(job.isHiddenFromPublic())
                 .moderationBlocked(job.isModerationBlocked())
                 .createdAt(job.getCreatedAt())
@@ -2,6 +2,7 @@ package com.example.demoapp.service;
 
 import com.example.demoapp.dto.*;
 import com.example.demoapp.entity.*;
+import com.example.demoapp.event.MahirProfileChangedEvent;
 import com.example.demoapp.exception.BadRequestException;
 import com.example.demoapp.exception.DuplicateResourceException;
 import com.example.demoapp.exception.ResourceNotFoundException;
@@ -15,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -36,6 +38,7 @@ public class AuthService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired(required = false)
     private JavaMailSender mailSender;
@@ -104,6 +107,9 @@ public class AuthService {
         }
 
         user = userRepository.save(user);
+        if (user.getRole() == Role.MAHIR) {
+            eventPublisher.publishEvent(new MahirProfileChangedEvent(user.getId()));
+        }
 
         String accessToken = jwtService.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
         String refreshToken = jwtService.generateRefreshToken(user.getEmail(), user.getId(), user.getRole());
@@ -1,5 +1,8 @@
 package com.example.demoapp.service;
 
+import com.example.demoapp.catalog.CatalogVersions;
+import com.example.demoapp.config.CacheConfig;
+import com.example.demoapp.datasource.ReadWriteRoutingDataSource;
 import com.example.demoapp.dto.AdminBannerImageUploadResponse;
 import com.example.demoapp.dto.BannerRequest;
 import com.example.demoapp.dto.BannerResponse;
@@ -12,8 +15,12 @@ import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnsupportedMediaTypeAppException;
 import com.example.demoapp.repository.BannerRepository;
 import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,7 +37,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -43,6 +49,8 @@ public class BannerService {
     private static final long MAX_BANNER_IMAGE_BYTES = 5L * 1024 * 1024;
 
     private final BannerRepository bannerRepository;
+    private final CacheManager cacheManager;
+    private final CatalogVersions catalogVersions;
 
     @Value("${app.public-base-url:http://localhost:8080}")
     private String publicBaseUrl;
@@ -106,7 +114,32 @@ public class BannerService {
         return "webp";
     }
 
+    /**
+     * Banners currently inside their window for the caller's role (null = guest/admin). Cached per role until
+     * the next {@code startsAt}/{@code endsAt} among the active banners, so scheduled banners appear and
+     * disappear on time without a database read per app launch.
+     */
     public List<BannerResponse> listActiveForHome(Role role) {
+        return getHomeBanners(role).getBanners();
+    }
+
+    /** Same as {@link #listActiveForHome} with the window end, which {@code PublicBannerController} folds into its ETag. */
+    public HomeBanners getHomeBanners(Role role) {
+        Cache cache = cacheManager.getCache(CacheConfig.HOME_BANNERS);
+        return cache.get(homeBannersKey(role), () -> {
+            // Same reason as CatalogService: never cache a replica's view of a banner edit
+            try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+                return loadActiveForHome(role);
+            }
+        });
+    }
+
+    /** USER and MAHIR see their own audience on top of BOTH; everyone else (guests, admins) sees BOTH only. */
+    public static String homeBannersKey(Role role) {
+        return role == Role.USER || role == Role.MAHIR ? role.name() : "ANY";
+    }
+
+    private HomeBanners loadActiveForHome(Role role) {
         Instant now = Instant.now();
         Set<PlanAudience> audiences = EnumSet.of(PlanAudience.BOTH);
         if (role == Role.USER) {
@@ -114,10 +147,21 @@ public class BannerService {
         } else if (role == Role.MAHIR) {
             audiences.add(PlanAudience.MAHIR);
         }
-        return bannerRepository.findActiveByAudienceIn(audiences).stream()
+        List<Banner> active = bannerRepository.findActiveByAudienceIn(audiences);
+        Instant validUntil = null;
+        for (Banner b : active) {
+            // endsAt is inclusive (see Banner#isCurrentlyValid), so the banner drops out just after it
+            Instant boundary = b.getStartsAt() != null && b.getStartsAt().isAfter(now) ? b.getStartsAt()
+                    : b.getEndsAt() != null && !b.getEndsAt().isBefore(now) ? b.getEndsAt().plusNanos(1) : null;
+            if (boundary != null && (validUntil == null || boundary.isBefore(validUntil))) {
+                validUntil = boundary;
+            }
+        }
+        List<BannerResponse> banners = active.stream()
                 .filter(b -> b.isCurrentlyValid(now))
                 .map(this::toResponse)
-                .collect(Collectors.toList());
+                .toList();
+        return new HomeBanners(banners, validUntil);
     }
 
     public Page<BannerResponse> listAdmin(Pageable pageable) {
@@ -126,6 +170,7 @@ public class BannerService {
 
     @Transactional
     public BannerResponse create(BannerRequest request) {
+        catalogVersions.markChanged(CatalogVersions.Resource.BANNERS);
         if (request.getImageUrl() == null || request.getImageUrl().isBlank()) {
             throw new BadRequestException("imageUrl is required");
         }
@@ -147,6 +192,7 @@ public class BannerService {
 
     @Transactional
     public BannerResponse update(Long id, BannerRequest request) {
+        catalogVersions.markChanged(CatalogVersions.Resource.BANNERS);
         Banner b = bannerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Banner", id));
         if (request.getTitle() != null) {
@@ -180,6 +226,7 @@ public class BannerService {
 
     @Transactional
     public void delete(Long id) {
+        catalogVersions.markChanged(CatalogVersions.Resource.BANNERS);
         if (!bannerRepository.existsById(id)) {
             throw new ResourceNotFoundException("Banner", id);
         }
@@ -201,4 +248,13 @@ public class BannerService {
                 .updatedAt(b.getUpdatedAt())
                 .build();
     }
+
+    /** Cached value of {@link #listActiveForHome}; {@code validUntil} is null when no banner has an upcoming boundary. */
+    @Getter
+    @AllArgsConstructor
+    public static class HomeBanners {
+
+        private final List<BannerResponse> banners;
+        private final Instant validUntil;
+    }
 }
@@ -4,16 +4,19 @@ import com.example.demoapp.dto.BidRequest;
 import com.example.demoapp.dto.BidResponse;
 import com.example.demoapp.dto.LocationDto;
 import com.example.demoapp.entity.*;
+import com.example.demoapp.event.OpenJobChangedEvent;
 import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnauthorizedException;
 import com.example.demoapp.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,9 +26,10 @@ public class BidService {
     private final BidRepository bidRepository;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
+    private final MahirRatingService mahirRatingService;
     private final BookingService bookingService;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BidResponse create(Long jobId, Long mahirId, BidRequest request) {
@@ -54,20 +58,22 @@ public class BidService {
                 .status(BidStatus.PENDING)
                 .build();
         bid = bidRepository.save(bid);
+        jobRepository.adjustBidCount(jobId, 1);
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(jobId));
         bookingService.createFromBid(bid);
         notificationService.create(job.getPostedBy().getId(), "BID_RECEIVED", "New bid",
                 "You have a new bid on your job. Tap to view.", job.getId());
-        return toBidResponse(bid, bookingService.getChatThreadIdForBidId(bid.getId()));
+        return toBidResponse(bid, bookingService.getChatThreadIdForBidId(bid.getId()), mahirRatingService.getStats(mahirId));
     }
 
     public Page<BidResponse> listBidsForJob(Long jobId, Long userId, Pageable pageable) {
         Job job = jobRepository.findById(jobId).orElseThrow(() -> new ResourceNotFoundException("Job", jobId));
         User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User", userId));
         if (job.getPostedBy().getId().equals(userId)) {
-            return bidRepository.findByJobOrderByCreatedAtDesc(job, pageable).map(b -> toBidResponse(b, bookingService.getChatThreadIdForBidId(b.getId())));
+            return toBidResponses(bidRepository.findByJobOrderByCreatedAtDesc(job, pageable));
         }
         if (user.getRole() == Role.MAHIR) {
-            return bidRepository.findByJobAndMahirOrderByCreatedAtDesc(job, user, pageable).map(b -> toBidResponse(b, bookingService.getChatThreadIdForBidId(b.getId())));
+            return toBidResponses(bidRepository.findByJobAndMahirOrderByCreatedAtDesc(job, user, pageable));
         }
         throw new UnauthorizedException("Only the job poster or a bidding Mahir can list bids for this job");
     }
@@ -80,7 +86,7 @@ public class BidService {
         Page<Bid> page = status != null
                 ? bidRepository.findByMahirAndStatusOrderByCreatedAtDesc(mahir, status, pageable)
                 : bidRepository.findByMahirOrderByCreatedAtDesc(mahir, pageable);
-        return page.map(b -> toBidResponse(b, bookingService.getChatThreadIdForBidId(b.getId())));
+        return toBidResponses(page);
     }
 
     @Transactional
@@ -112,6 +118,7 @@ public class BidService {
         }
         job.setStatus(JobStatus.ASSIGNED);
         jobRepository.save(job);
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(jobId));
         bookingService.cancelPendingJobBookingsExceptBid(job, bidId);
         com.example.demoapp.dto.BookingResponse booking = bookingService.finalizeAcceptedBid(job, bid);
         notificationService.create(bid.getMahir().getId(), "BID_ACCEPTED", "Bid accepted",
@@ -138,17 +145,24 @@ public class BidService {
                 "Your bid was not accepted for this job.", jobId);
     }
 
-    private BidResponse toBidResponse(Bid b, Long chatThreadId) {
-        Double rating = reviewRepository.getAverageRatingByMahirId(b.getMahir().getId());
-        long reviewCount = reviewRepository.countPublicByMahirId(b.getMahir().getId());
+    /** Rating stats and chat thread ids for the whole page are loaded with one query each. */
+    private Page<BidResponse> toBidResponses(Page<Bid> page) {
+        Map<Long, MahirRatingStats> stats = mahirRatingService.getStats(
+                page.getContent().stream().map(b -> b.getMahir().getId()).collect(Collectors.toSet()));
+        Map<Long, Long> threadIds = bookingService.getChatThreadIdsForBidIds(
+                page.getContent().stream().map(Bid::getId).collect(Collectors.toList()));
+        return page.map(b -> toBidResponse(b, threadIds.get(b.getId()), stats.get(b.getMahir().getId())));
+    }
+
+    private BidResponse toBidResponse(Bid b, Long chatThreadId, MahirRatingStats ratingStats) {
         return BidResponse.builder()
                 .id(b.getId())
                 .jobId(b.getJob().getId())
                 .mahirId(b.getMahir().getId())
                 .mahirName(b.getMahir().getFullName())
                 .mahirAvatarUrl(b.getMahir().getAvatarUrl())
-                .mahirRating(rating != null ? Math.round(rating * 10.0) / 10.0 : null)
-                .mahirReviewCount(reviewCount)
+                .mahirRating(ratingStats.getAverageRating())
+                .mahirReviewCount(ratingStats.getRatingCount())
                 .message(b.getMessage())
                 .proposedPrice(b.getProposedPrice())
                 .proposedAt(b.getProposedAt())
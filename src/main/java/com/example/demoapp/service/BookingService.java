@@ -16,8 +16,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -177,6 +181,14 @@ public class BookingService {
                 .orElse(null);
     }
 
+    /** Batch form of {@link #getChatThreadIdForBidId}: bid id to thread id, only for bids that have one. */
+    public Map<Long, Long> getChatThreadIdsForBidIds(Collection<Long> bidIds) {
+        if (bidIds.isEmpty()) {
+            return Map.of();
+        }
+        return toIdMap(chatThreadRepository.findIdsByBidIds(bidIds));
+    }
+
     @Transactional
     public BookingResponse create(Long customerId, BookingRequest request) {
         User customer = userRepository.findById(customerId)
@@ -203,20 +215,14 @@ public class BookingService {
         return toResponse(booking);
     }
 
+    @Transactional(readOnly = true)
     public Page<BookingResponse> getMyBookings(Long userId, BookingStatus statusFilter, Pageable pageable) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
-        Page<Booking> page;
-        if (statusFilter != null) {
-            page = user.getRole() == Role.MAHIR
-                    ? bookingRepository.findByMahirAndStatusOrderByCreatedAtDesc(user, statusFilter, pageable)
-                    : bookingRepository.findByCustomerAndStatusOrderByCreatedAtDesc(user, statusFilter, pageable);
-        } else {
-            page = user.getRole() == Role.MAHIR
-                    ? bookingRepository.findByMahirOrderByCreatedAtDesc(user, pageable)
-                    : bookingRepository.findByCustomerOrderByCreatedAtDesc(user, pageable);
-        }
-        return page.map(this::toResponse);
+        Page<BookingRepository.BookingListView> page = user.getRole() == Role.MAHIR
+                ? bookingRepository.findListViewsByMahir(userId, statusFilter, pageable)
+                : bookingRepository.findListViewsByCustomer(userId, statusFilter, pageable);
+        return toResponses(page);
     }
 
     @Transactional
@@ -299,6 +305,43 @@ public class BookingService {
         }
     }
 
+    /** Chat thread ids for the whole page come from one query instead of one per booking. */
+    private Page<BookingResponse> toResponses(Page<BookingRepository.BookingListView> page) {
+        List<Long> bookingIds = page.getContent().stream()
+                .map(BookingRepository.BookingListView::getId).collect(Collectors.toList());
+        Map<Long, Long> threadIds = bookingIds.isEmpty()
+                ? Map.of()
+                : toIdMap(chatThreadRepository.findIdsByBookingIds(bookingIds));
+        return page.map(v -> BookingResponse.builder()
+                .id(v.getId())
+                .jobId(v.getJobId())
+                .bidId(v.getBidId())
+                .customerId(v.getCustomerId())
+                .customerName(v.getCustomerName())
+                .customerEmail(v.getCustomerEmail())
+                .mahirId(v.getMahirId())
+                .mahirName(v.getMahirName())
+                .mahirEmail(v.getMahirEmail())
+                .jobTitle(v.getJobTitle())
+                .agreedPrice(v.getAgreedPrice())
+                .status(v.getStatus())
+                .scheduledAt(v.getScheduledAt())
+                .message(v.getMessage())
+                .cancelReason(v.getCancelReason())
+                .chatThreadId(threadIds.get(v.getId()))
+                .createdAt(v.getCreatedAt())
+                .updatedAt(v.getUpdatedAt())
+                .build());
+    }
+
+    private static Map<Long, Long> toIdMap(List<Object[]> rows) {
+        Map<Long, Long> ids = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.put((Long) row[0], (Long) row[1]);
+        }
+        return ids;
+    }
+
     private BookingResponse toResponse(Booking b) {
         Long threadId = chatThreadRepository.findByBookingId(b.getId()).map(ChatThread::getId).orElse(null);
         return BookingResponse.builder()
@@ -0,0 +1,108 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.catalog.ServiceCategoryCatalog;
+import com.example.demoapp.config.CacheConfig;
+import com.example.demoapp.datasource.ReadWriteRoutingDataSource;
+import com.example.demoapp.dto.CategoryResponse;
+import com.example.demoapp.dto.FaqResponse;
+import com.example.demoapp.dto.MembershipPlanResponse;
+import com.example.demoapp.entity.Category;
+import com.example.demoapp.entity.MembershipPlan;
+import com.example.demoapp.repository.CategoryRepository;
+import com.example.demoapp.repository.FaqRepository;
+import com.example.demoapp.repository.MembershipPlanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Public catalog reads (categories, FAQs, membership plans), cached in {@link CacheConfig}. Results are shared
+ * between requests, so lists are unmodifiable and callers must not mutate the DTOs. Admin writes in
+ * {@link AdminService} evict the matching cache.
+ * <p>
+ * Cache fills read the primary even though the transaction is read-only: a fill from a replica that has not
+ * replayed the admin edit yet would be served, under the new ETag, until the TTL runs out.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogService {
+
+    private final CategoryRepository categoryRepository;
+    private final FaqRepository faqRepository;
+    private final MembershipPlanRepository membershipPlanRepository;
+
+    /**
+     * Exactly the 17 canonical categories in app order (not alphabetical).
+     * Omits any DB row whose name is not in {@link ServiceCategoryCatalog}.
+     */
+    @Cacheable(CacheConfig.CATEGORIES)
+    public List<CategoryResponse> listCategories() {
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+            Map<String, Category> byName = categoryRepository.findAll().stream()
+                    .collect(Collectors.toMap(Category::getName, Function.identity(), (a, b) -> a));
+            List<CategoryResponse> list = new ArrayList<>(ServiceCategoryCatalog.CANONICAL_COUNT);
+            for (int i = 0; i < ServiceCategoryCatalog.NAMES_IN_DISPLAY_ORDER.size(); i++) {
+                Category c = byName.get(ServiceCategoryCatalog.NAMES_IN_DISPLAY_ORDER.get(i));
+                if (c != null) {
+                    list.add(CategoryResponse.builder()
+                            .id(c.getId())
+                            .name(c.getName())
+                            .description(c.getDescription())
+                            .sortOrder(i + 1)
+                            .build());
+                }
+            }
+            return Collections.unmodifiableList(list);
+        }
+    }
+
+    @Cacheable(CacheConfig.ACTIVE_FAQS)
+    public List<FaqResponse> listActiveFaqs() {
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+            return faqRepository.findByActiveTrueOrderBySortOrderAsc().stream()
+                    .map(f -> FaqResponse.builder()
+                            .id(f.getId())
+                            .question(f.getQuestion())
+                            .answer(f.getAnswer())
+                            .sortOrder(f.getSortOrder())
+                            .build())
+                    .toList();
+        }
+    }
+
+    /** All active plans ordered by sortOrder; the audience filter is applied per request. */
+    @Cacheable(CacheConfig.ACTIVE_PLANS)
+    public List<MembershipPlanResponse> listActivePlans() {
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+            return membershipPlanRepository.findByActiveTrueOrderBySortOrderAsc().stream()
+                    .map(CatalogService::toPlanResponse)
+                    .toList();
+        }
+    }
+
+    private static MembershipPlanResponse toPlanResponse(MembershipPlan p) {
+        return MembershipPlanResponse.builder()
+                .id(p.getId())
+                .name(p.getName())
+                .code(p.getCode())
+                .description(p.getDescription())
+                .audience(p.getAudience())
+                .priceMonthly(p.getPriceMonthly())
+                .currency(p.getCurrency())
+                .featuresText(p.getFeaturesText())
+                .active(p.isActive())
+                .sortOrder(p.getSortOrder())
+                .createdAt(p.getCreatedAt())
+                .updatedAt(p.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.dto.ChatMessageResponse;
+import com.example.demoapp.event.ChatMessageSentEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers committed chat messages to STOMP subscribers of {@code /topic/chats/{threadId}} and to
+ * clients parked on the long-poll endpoint. State is per instance (simple in-memory broker).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatRealtimeService {
+
+    public static final String THREAD_TOPIC_PREFIX = "/topic/chats/";
+    static final long MAX_POLL_SECONDS = 30;
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<Long, Set<DeferredResult<List<ChatMessageResponse>>>> waiters = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(ChatMessageSentEvent event) {
+        try {
+            messagingTemplate.convertAndSend(THREAD_TOPIC_PREFIX + event.getThreadId(), event.getMessage());
+        } catch (Exception e) {
+            log.warn("STOMP broadcast failed for chat thread {}: {}", event.getThreadId(), e.getMessage());
+        }
+        Set<DeferredResult<List<ChatMessageResponse>>> pending = waiters.remove(event.getThreadId());
+        if (pending != null) {
+            List<ChatMessageResponse> payload = List.of(event.getMessage());
+            pending.forEach(d -> d.setResult(payload));
+        }
+    }
+
+    /**
+     * Parks a long-poll request until the next message in the thread is committed or the timeout elapses
+     * (then completes with an empty list). Register before reading the backlog so no message is missed.
+     */
+    DeferredResult<List<ChatMessageResponse>> register(Long threadId, long timeoutSeconds) {
+        long seconds = Math.max(1, Math.min(timeoutSeconds, MAX_POLL_SECONDS));
+        DeferredResult<List<ChatMessageResponse>> result = new DeferredResult<>(seconds * 1000, List.of());
+        waiters.compute(threadId, (id, set) -> {
+            Set<DeferredResult<List<ChatMessageResponse>>> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(result);
+            return s;
+        });
+        result.onCompletion(() -> waiters.computeIfPresent(threadId, (id, set) -> {
+            set.remove(result);
+            return set.isEmpty() ? null : set;
+        }));
+        return result;
+    }
+}
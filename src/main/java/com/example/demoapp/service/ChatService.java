@@ -3,19 +3,29 @@ package com.example.demoapp.service;
 import com.example.demoapp.dto.ChatMessageRequest;
 import com.example.demoapp.dto.ChatMessageResponse;
 import com.example.demoapp.dto.ChatThreadSummaryResponse;
+import com.example.demoapp.dto.CursorPageResponse;
 import com.example.demoapp.entity.*;
+import com.example.demoapp.event.ChatMessageSentEvent;
+import com.example.demoapp.exception.BadRequestException;
 import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnauthorizedException;
 import com.example.demoapp.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +37,9 @@ public class ChatService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ChatRealtimeService chatRealtimeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public Long getOrCreateThreadForBooking(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -42,8 +55,25 @@ public class ChatService {
 
     public List<ChatThreadSummaryResponse> listMyThreads(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User", userId));
-        List<ChatThread> threads = threadRepository.findThreadsForUser(userId);
-        return threads.stream().map(t -> toSummary(t, userId)).collect(Collectors.toList());
+        List<ChatThread> threads = threadRepository.findThreadSummariesForUser(userId);
+        // Threads written before the inbox columns existed have no lastMessageAt; resolve them in two batched queries.
+        List<Long> legacyIds = threads.stream()
+                .filter(t -> t.getLastMessageAt() == null)
+                .map(ChatThread::getId)
+                .collect(Collectors.toList());
+        Map<Long, ChatMessage> legacyLast = new HashMap<>();
+        Map<Long, Long> legacyUnread = new HashMap<>();
+        if (!legacyIds.isEmpty()) {
+            for (ChatMessage m : messageRepository.findLatestInThreads(legacyIds)) {
+                legacyLast.put(m.getThread().getId(), m);
+            }
+            for (ChatMessageRepository.ThreadUnreadCount c : messageRepository.countUnreadInThreads(legacyIds, userId)) {
+                legacyUnread.put(c.getThreadId(), c.getUnreadCount());
+            }
+        }
+        return threads.stream()
+                .map(t -> toSummary(t, userId, legacyLast.get(t.getId()), legacyUnread.getOrDefault(t.getId(), 0L)))
+                .collect(Collectors.toList());
     }
 
     public Page<ChatMessageResponse> getMessages(Long threadId, Long userId, Pageable pageable) {
@@ -53,6 +83,29 @@ public class ChatService {
         return messageRepository.findByThreadOrderByCreatedAtDesc(thread, desc).map(this::toMessageResponse);
     }
 
+    /**
+     * Keyset variant of {@link #getMessages}: newest first, strictly older than {@code before}
+     * (message id or ISO-8601 instant). Cost per page does not grow with history depth.
+     */
+    public CursorPageResponse<ChatMessageResponse> getMessagesBefore(Long threadId, Long userId, String before, Integer limit) {
+        ChatThread thread = threadRepository.findById(threadId).orElseThrow(() -> new ResourceNotFoundException("Chat thread", threadId));
+        ensureParticipant(thread.getBooking(), userId);
+        Pageable first = PageRequest.of(0, KeysetCursor.clampLimit(limit, 50));
+        KeysetCursor cursor = KeysetCursor.parse(before);
+        Slice<ChatMessage> slice;
+        if (cursor == null) {
+            slice = messageRepository.findByThreadOrderByCreatedAtDescIdDesc(thread, first);
+        } else if (cursor.getId() != null) {
+            ChatMessage anchor = messageRepository.findById(cursor.getId())
+                    .filter(m -> m.getThread().getId().equals(threadId))
+                    .orElseThrow(() -> new BadRequestException("before does not reference a message in this thread"));
+            slice = messageRepository.findSliceBefore(thread, anchor.getCreatedAt(), anchor.getId(), first);
+        } else {
+            slice = messageRepository.findSliceBeforeTime(thread, cursor.getCreatedAt(), first);
+        }
+        return CursorPageResponse.fromSlice(slice.map(this::toMessageResponse), ChatMessageResponse::getId);
+    }
+
     @Transactional
     public ChatMessageResponse sendMessage(Long threadId, Long userId, ChatMessageRequest request) {
         ChatThread thread = threadRepository.findById(threadId).orElseThrow(() -> new ResourceNotFoundException("Chat thread", threadId));
@@ -68,12 +121,54 @@ public class ChatService {
                 .content(request.getContent())
                 .build();
         msg = messageRepository.save(msg);
-        User other = booking.getCustomer().getId().equals(userId) ? booking.getMahir() : booking.getCustomer();
+        boolean fromCustomer = booking.getCustomer().getId().equals(userId);
+        threadRepository.recordMessage(threadId, msg.getCreatedAt(), previewOf(msg.getContent()),
+                fromCustomer ? 0 : 1, fromCustomer ? 1 : 0);
+        User other = fromCustomer ? booking.getMahir() : booking.getCustomer();
         String content = request.getContent() != null ? request.getContent() : "";
         String preview = content.length() > 50 ? content.substring(0, 50) + "..." : content;
         String body = sender.getFullName() + ": " + (preview.isEmpty() ? "New message from " + sender.getFullName() : preview);
         notificationService.create(other.getId(), "CHAT_MESSAGE", "New message", body, threadId);
-        return toMessageResponse(msg);
+        ChatMessageResponse response = toMessageResponse(msg);
+        eventPublisher.publishEvent(new ChatMessageSentEvent(threadId, response));
+        return response;
+    }
+
+    /**
+     * Long-poll fallback for clients without a socket: completes as soon as a message newer than
+     * {@code afterId} exists (immediately if one is already stored), or with an empty list on timeout.
+     */
+    public DeferredResult<List<ChatMessageResponse>> pollMessages(Long threadId, Long userId, Long afterId, long timeoutSeconds) {
+        // No view EntityManager on this path (OpenEntityManagerInViewConfig): the reads run in their own
+        // transaction, which returns its connection before the request parks.
+        return transactionTemplate.execute(status -> {
+            ChatThread thread = threadRepository.findById(threadId).orElseThrow(() -> new ResourceNotFoundException("Chat thread", threadId));
+            ensureParticipant(thread.getBooking(), userId);
+            DeferredResult<List<ChatMessageResponse>> result = chatRealtimeService.register(threadId, timeoutSeconds);
+            if (afterId != null) {
+                List<ChatMessage> backlog = messageRepository.findNewerThan(threadId, afterId, PageRequest.of(0, 100));
+                if (!backlog.isEmpty()) {
+                    result.setResult(backlog.stream().map(this::toMessageResponse).collect(Collectors.toList()));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Marks every message from the other participant as read and clears the caller's unread counter.
+     */
+    @Transactional
+    public void markThreadRead(Long threadId, Long userId) {
+        ChatThread thread = threadRepository.findById(threadId).orElseThrow(() -> new ResourceNotFoundException("Chat thread", threadId));
+        Booking booking = thread.getBooking();
+        ensureParticipant(booking, userId);
+        messageRepository.markThreadRead(threadId, userId, Instant.now());
+        if (booking.getCustomer().getId().equals(userId)) {
+            threadRepository.resetCustomerUnread(threadId);
+        } else {
+            threadRepository.resetMahirUnread(threadId);
+        }
     }
 
     private void ensureParticipant(Booking booking, Long userId) {
@@ -82,14 +177,22 @@ public class ChatService {
         }
     }
 
-    private ChatThreadSummaryResponse toSummary(ChatThread t, Long currentUserId) {
+    private ChatThreadSummaryResponse toSummary(ChatThread t, Long currentUserId, ChatMessage legacyLast, long legacyUnread) {
         Booking b = t.getBooking();
-        User other = b.getCustomer().getId().equals(currentUserId) ? b.getMahir() : b.getCustomer();
-        List<ChatMessage> messages = messageRepository.findByThreadOrderByCreatedAtDesc(t, PageRequest.of(0, 1)).getContent();
-        ChatMessage last = messages.isEmpty() ? null : messages.get(0);
-        String preview = last != null ? (last.getContent().length() > 80 ? last.getContent().substring(0, 80) + "..." : last.getContent()) : null;
-        long unread = messageRepository.findByThreadOrderByCreatedAtDesc(t, Pageable.unpaged()).getContent().stream()
-                .filter(m -> !m.getSender().getId().equals(currentUserId) && m.getReadAt() == null).count();
+        boolean isCustomer = b.getCustomer().getId().equals(currentUserId);
+        User other = isCustomer ? b.getMahir() : b.getCustomer();
+        Instant lastAt;
+        String preview;
+        long unread;
+        if (t.getLastMessageAt() != null) {
+            lastAt = t.getLastMessageAt();
+            preview = t.getLastMessagePreview();
+            unread = isCustomer ? t.getCustomerUnreadCount() : t.getMahirUnreadCount();
+        } else {
+            lastAt = legacyLast != null ? legacyLast.getCreatedAt() : t.getCreatedAt();
+            preview = legacyLast != null ? previewOf(legacyLast.getContent()) : null;
+            unread = legacyUnread;
+        }
         return ChatThreadSummaryResponse.builder()
                 .id(t.getId())
                 .threadId(t.getId())
@@ -97,11 +200,16 @@ public class ChatService {
                 .otherPartyName(other.getFullName())
                 .otherPartyAvatarUrl(other.getAvatarUrl())
                 .lastMessagePreview(preview)
-                .lastMessageAt(last != null ? last.getCreatedAt() : t.getCreatedAt())
+                .lastMessageAt(lastAt)
                 .unreadCount(unread)
                 .build();
     }
 
+    private static String previewOf(String content) {
+        if (content == null) return null;
+        return content.length() > 80 ? content.substring(0, 80) + "..." : content;
+    }
+
     private ChatMessageResponse toMessageResponse(ChatMessage m) {
         User s = m.getSender();
         return ChatMessageResponse.builder()
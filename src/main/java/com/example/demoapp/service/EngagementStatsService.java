@@ -0,0 +1,246 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.dto.AdminEngagementResponse;
+import com.example.demoapp.dto.AdminEngagementResponse.Granularity;
+import com.example.demoapp.entity.EngagementDaily;
+import com.example.demoapp.exception.BadRequestException;
+import com.example.demoapp.repository.ChatMessageRepository;
+import com.example.demoapp.repository.EngagementDailyRepository;
+import com.example.demoapp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chat message and registration series for the admin dashboard, bucketed by UTC hour, day or ISO week. Each
+ * series is one grouped query over the whole range. With {@code app.engagement-rollup.enabled=true}, days up to
+ * the last rollup are read from {@code engagement_daily} and only the days after it are counted live, so day
+ * and week series over years stay cheap.
+ * <p>
+ * Buckets are UTC, like the chat counters in {@link PlatformStatsService}. The grouped queries return the
+ * earliest timestamp of each stored half hour rather than database date parts, which would follow the zone the
+ * values were stored in; {@code User.createdAt} is a {@link LocalDateTime} in the JVM zone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EngagementStatsService {
+
+    /** Hourly series always count raw rows; keep them to about a month. */
+    private static final int MAX_HOURLY_DAYS = 31;
+    /** Days counted per transaction when the rollup catches up (first run, or after being disabled). */
+    private static final int ROLLUP_CHUNK_DAYS = 31;
+    private static final long[] NONE = new long[2];
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final UserRepository userRepository;
+    private final EngagementDailyRepository engagementDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.engagement-rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    @Transactional(readOnly = true)
+    public AdminEngagementResponse getEngagement(LocalDate from, LocalDate to, Granularity granularity) {
+        Granularity g = granularity != null ? granularity : Granularity.DAY;
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(defaultDays(g) - 1);
+        if (start.isAfter(end)) {
+            LocalDate tmp = start;
+            start = end;
+            end = tmp;
+        }
+        return switch (g) {
+            case HOUR -> hourly(start, end);
+            case DAY -> daily(start, end);
+            case WEEK -> weekly(start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    end.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+        };
+    }
+
+    /**
+     * Writes {@code engagement_daily} for every closed UTC day not rolled up yet. The last day already rolled up
+     * is written again, for messages committed just after it closed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.engagement-rollup.cron:0 10 0 * * *}", zone = "UTC")
+    public void rollUp() {
+        if (!rollupEnabled) return;
+        LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        LocalDate lastRolled = engagementDailyRepository.findLastDay();
+        LocalDate from = lastRolled != null ? lastRolled : firstActivityDay();
+        if (from == null || from.isAfter(yesterday)) return;
+        for (LocalDate chunkStart = from; !chunkStart.isAfter(yesterday); chunkStart = chunkStart.plusDays(ROLLUP_CHUNK_DAYS)) {
+            LocalDate start = chunkStart;
+            LocalDate end = min(chunkStart.plusDays(ROLLUP_CHUNK_DAYS - 1), yesterday);
+            transactionTemplate.executeWithoutResult(status -> writeRollup(start, end));
+        }
+        log.info("Engagement rollup written for {} to {}", from, yesterday);
+    }
+
+    private AdminEngagementResponse daily(LocalDate start, LocalDate end) {
+        Map<LocalDate, long[]> counts = countsPerDay(start, end);
+        List<AdminEngagementResponse.DailyCount> chat = new ArrayList<>();
+        List<AdminEngagementResponse.DailyCount> regs = new ArrayList<>();
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            long[] c = counts.getOrDefault(d, NONE);
+            chat.add(bucket(d.toString(), c[0]));
+            regs.add(bucket(d.toString(), c[1]));
+        }
+        return response(Granularity.DAY, chat, regs);
+    }
+
+    private AdminEngagementResponse weekly(LocalDate firstMonday, LocalDate lastSunday) {
+        Map<LocalDate, long[]> counts = countsPerDay(firstMonday, lastSunday);
+        List<AdminEngagementResponse.DailyCount> chat = new ArrayList<>();
+        List<AdminEngagementResponse.DailyCount> regs = new ArrayList<>();
+        for (LocalDate week = firstMonday; week.isBefore(lastSunday); week = week.plusWeeks(1)) {
+            long chatSum = 0;
+            long regSum = 0;
+            for (int i = 0; i < 7; i++) {
+                long[] c = counts.getOrDefault(week.plusDays(i), NONE);
+                chatSum += c[0];
+                regSum += c[1];
+            }
+            chat.add(bucket(week.toString(), chatSum));
+            regs.add(bucket(week.toString(), regSum));
+        }
+        return response(Granularity.WEEK, chat, regs);
+    }
+
+    private AdminEngagementResponse hourly(LocalDate start, LocalDate end) {
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_HOURLY_DAYS) {
+            throw new BadRequestException("Hourly engagement is limited to " + MAX_HOURLY_DAYS + " days");
+        }
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime until = end.plusDays(1).atStartOfDay();
+        Map<LocalDateTime, long[]> counts = new HashMap<>();
+        for (Object[] row : chatMessageRepository.countPerHalfHour(from.toInstant(ZoneOffset.UTC), until.toInstant(ZoneOffset.UTC))) {
+            counts.computeIfAbsent(utcHour((Instant) row[0]), k -> new long[2])[0] += ((Number) row[1]).longValue();
+        }
+        for (Object[] row : userRepository.countPerHalfHour(jvmLocal(from), jvmLocal(until))) {
+            counts.computeIfAbsent(utcHour(fromJvmLocal((LocalDateTime) row[0])), k -> new long[2])[1] += ((Number) row[1]).longValue();
+        }
+        List<AdminEngagementResponse.DailyCount> chat = new ArrayList<>();
+        List<AdminEngagementResponse.DailyCount> regs = new ArrayList<>();
+        for (LocalDateTime h = from; h.isBefore(until); h = h.plusHours(1)) {
+            long[] c = counts.getOrDefault(h, NONE);
+            chat.add(bucket(h.toString(), c[0]));
+            regs.add(bucket(h.toString(), c[1]));
+        }
+        return response(Granularity.HOUR, chat, regs);
+    }
+
+    /** [chat messages, registrations] per day; days without activity are absent. */
+    private Map<LocalDate, long[]> countsPerDay(LocalDate start, LocalDate end) {
+        Map<LocalDate, long[]> counts = new HashMap<>();
+        LocalDate liveFrom = start;
+        if (rollupEnabled) {
+            LocalDate lastRolled = engagementDailyRepository.findLastDay();
+            if (lastRolled != null && !lastRolled.isBefore(start)) {
+                for (EngagementDaily d : engagementDailyRepository.findByDayBetweenOrderByDay(start, min(end, lastRolled))) {
+                    counts.put(d.getDay(), new long[] { d.getChatMessages(), d.getNewRegistrations() });
+                }
+                liveFrom = lastRolled.plusDays(1);
+            }
+        }
+        if (!liveFrom.isAfter(end)) {
+            countLive(liveFrom, end, counts);
+        }
+        return counts;
+    }
+
+    private void countLive(LocalDate start, LocalDate end, Map<LocalDate, long[]> into) {
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime until = end.plusDays(1).atStartOfDay();
+        for (Object[] row : chatMessageRepository.countPerHalfHour(from.toInstant(ZoneOffset.UTC), until.toInstant(ZoneOffset.UTC))) {
+            into.computeIfAbsent(utcDay((Instant) row[0]), k -> new long[2])[0] += ((Number) row[1]).longValue();
+        }
+        for (Object[] row : userRepository.countPerHalfHour(jvmLocal(from), jvmLocal(until))) {
+            into.computeIfAbsent(utcDay(fromJvmLocal((LocalDateTime) row[0])), k -> new long[2])[1] += ((Number) row[1]).longValue();
+        }
+    }
+
+    private void writeRollup(LocalDate start, LocalDate end) {
+        Map<LocalDate, long[]> counts = new HashMap<>();
+        countLive(start, end, counts);
+        List<EngagementDaily> rows = new ArrayList<>();
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            long[] c = counts.getOrDefault(d, NONE);
+            rows.add(EngagementDaily.builder().day(d).chatMessages(c[0]).newRegistrations(c[1]).build());
+        }
+        engagementDailyRepository.saveAll(rows);
+    }
+
+    private LocalDate firstActivityDay() {
+        Instant firstMessage = chatMessageRepository.findFirstCreatedAt();
+        LocalDateTime firstUser = userRepository.findFirstCreatedAt();
+        LocalDate first = firstMessage != null ? utcDay(firstMessage) : null;
+        LocalDate firstUserDay = firstUser != null ? utcDay(fromJvmLocal(firstUser)) : null;
+        if (firstUserDay != null && (first == null || firstUserDay.isBefore(first))) {
+            first = firstUserDay;
+        }
+        return first;
+    }
+
+    private static int defaultDays(Granularity g) {
+        return switch (g) {
+            case HOUR -> 2;
+            case DAY -> 14;
+            case WEEK -> 84;
+        };
+    }
+
+    private static LocalDate utcDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime utcHour(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /** UTC wall clock to the JVM zone, which {@code User.createdAt} is written in. */
+    private static LocalDateTime jvmLocal(LocalDateTime utc) {
+        return LocalDateTime.ofInstant(utc.toInstant(ZoneOffset.UTC), ZoneId.systemDefault());
+    }
+
+    private static Instant fromJvmLocal(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static AdminEngagementResponse.DailyCount bucket(String date, long count) {
+        return AdminEngagementResponse.DailyCount.builder().date(date).count(count).build();
+    }
+
+    private static AdminEngagementResponse response(Granularity g, List<AdminEngagementResponse.DailyCount> chat,
+                                                    List<AdminEngagementResponse.DailyCount> regs) {
+        return AdminEngagementResponse.builder()
+                .granularity(g)
+                .chatMessagesByDay(chat)
+                .newRegistrationsByDay(regs)
+                .build();
+    }
+}
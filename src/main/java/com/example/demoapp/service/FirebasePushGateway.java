@@ -0,0 +1,73 @@
+package com.example.demoapp.service;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends through {@link FirebaseMessaging#sendEach(List)}: one HTTP round trip per batch of up to 500
+ * messages instead of one per user.
+ */
+@Component
+@ConditionalOnProperty(name = "app.push.gateway", havingValue = "firebase", matchIfMissing = true)
+@Slf4j
+public class FirebasePushGateway implements PushGateway {
+
+    @Override
+    public boolean isAvailable() {
+        return !FirebaseApp.getApps().isEmpty();
+    }
+
+    @Override
+    public List<Result> sendEach(List<Envelope> messages) {
+        List<Message> fcmMessages = new ArrayList<>(messages.size());
+        for (Envelope e : messages) {
+            fcmMessages.add(Message.builder()
+                    .setToken(e.getToken())
+                    .setNotification(Notification.builder()
+                            .setTitle(e.getTitle() != null ? e.getTitle() : "")
+                            .setBody(e.getBody() != null ? e.getBody() : "")
+                            .build())
+                    .build());
+        }
+        List<Result> results = new ArrayList<>(messages.size());
+        try {
+            BatchResponse batch = FirebaseMessaging.getInstance().sendEach(fcmMessages);
+            for (SendResponse r : batch.getResponses()) {
+                results.add(r.isSuccessful() ? Result.sent(r.getMessageId()) : toResult(r.getException()));
+            }
+            log.info("FCM sendEach: {} sent, {} failed", batch.getSuccessCount(), batch.getFailureCount());
+        } catch (FirebaseMessagingException e) {
+            log.warn("FCM sendEach failed for {} messages: {}", messages.size(), e.getMessage());
+            results.clear();
+            messages.forEach(m -> results.add(Result.failed(Outcome.RETRY, e.getMessage())));
+        }
+        return results;
+    }
+
+    private Result toResult(FirebaseMessagingException e) {
+        MessagingErrorCode code = e != null ? e.getMessagingErrorCode() : null;
+        String error = e != null ? e.getMessage() : "unknown FCM error";
+        if (code == null) {
+            return Result.failed(Outcome.RETRY, error);
+        }
+        return switch (code) {
+            case UNREGISTERED, SENDER_ID_MISMATCH -> Result.failed(Outcome.INVALID_TOKEN, error);
+            // also raised for a bad payload (oversized data, bad TTL); the token may be fine
+            case INVALID_ARGUMENT -> Result.failed(Outcome.FAILED, error);
+            case UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED -> Result.failed(Outcome.RETRY, error);
+            default -> Result.failed(Outcome.FAILED, error);
+        };
+    }
+}
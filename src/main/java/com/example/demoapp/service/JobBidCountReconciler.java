@@ -0,0 +1,33 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repairs {@code jobs.bid_count} from the {@code bids} table. The counter is maintained by
+ * {@link JobRepository#adjustBidCount} on every bid insert; this pass catches rows written some other way
+ * (sample data, manual SQL, ddl-auto adding the column to an existing MySQL/H2 table with zeros).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobBidCountReconciler {
+
+    private final JobRepository jobRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.job-bid-count.reconcile-cron:0 45 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int fixed = jobRepository.reconcileBidCounts();
+        if (fixed > 0) {
+            log.warn("Job bid count reconcile corrected {} rows", fixed);
+        }
+    }
+}
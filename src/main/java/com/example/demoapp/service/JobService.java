@@ -6,25 +6,47 @@ import com.example.demoapp.dto.JobUpdateRequest;
 import com.example.demoapp.dto.LocationDto;
 import com.example.demoapp.dto.WhatsAppContactResponse;
 import com.example.demoapp.entity.*;
+import com.example.demoapp.event.JobPostedEvent;
+import com.example.demoapp.event.OpenJobChangedEvent;
 import com.example.demoapp.exception.BadRequestException;
 import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnauthorizedException;
+import com.example.demoapp.geo.GeoArea;
 import com.example.demoapp.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class JobService {
 
+    private static final int MAX_SEARCH_TERMS = 8;
+
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final BidRepository bidRepository;
     private final NotificationService notificationService;
+    private final NearbySearchRepository nearbySearchRepository;
+    private final OpenJobFeedService openJobFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobSearchRepository jobSearchRepository;
+
+    @Value("${app.job-search.full-text:false}")
+    private boolean fullTextJobSearch;
 
     @Transactional
     public JobResponse create(Long userId, JobRequest request) {
@@ -61,30 +83,86 @@ public class JobService {
                 .status(JobStatus.OPEN)
                 .build();
         job = jobRepository.save(job);
-        // Notify Mahirs in this category about the new job (limit 100 to avoid spam)
-        org.springframework.data.domain.Page<User> mahirsInCategory = userRepository.findActiveMahirsByCategory(
-                Role.MAHIR, job.getCategory().getId(), Pageable.ofSize(100));
-        String title = "New job";
-        String body = "A new job in " + job.getCategory().getName() + ": " + job.getTitle();
-        for (User mahir : mahirsInCategory.getContent()) {
-            if (!mahir.getId().equals(poster.getId())) {
-                notificationService.create(mahir.getId(), "NEW_JOB", title, body, job.getId());
-            }
-        }
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(job.getId()));
+        // NEW_JOB alerts to the category's Mahirs go out after commit (NewJobFanoutService)
+        eventPublisher.publishEvent(new JobPostedEvent(job.getId(), poster.getId(), category.getId(),
+                category.getName(), job.getTitle()));
         return toResponse(job);
     }
 
+    @Transactional(readOnly = true)
     public Page<JobResponse> listMyJobs(Long userId, JobStatus status, Pageable pageable) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User", userId));
-        Page<Job> page = status != null
-                ? jobRepository.findByPostedByAndStatusOrderByCreatedAtDesc(user, status, pageable)
-                : jobRepository.findByPostedByOrderByCreatedAtDesc(user, pageable);
-        return page.map(this::toResponse);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        return toResponses(jobRepository.findListViewsByPoster(userId, status, pageable));
     }
 
-    public Page<JobResponse> listOpenJobs(Long categoryId, Pageable pageable) {
-        Page<Job> page = jobRepository.findPublicOpenJobs(JobStatus.OPEN, categoryId, pageable);
-        return page.map(this::toResponse);
+    /**
+     * Without {@code near}, the first pages come from {@link OpenJobFeedService} and only deeper pages hit the
+     * database.
+     *
+     * @param near when non-null, only jobs within the radius are returned, nearest first (the pageable's sort is
+     *             ignored), each with {@code distanceKm}
+     * @param q    keywords matched against title and description; when given, results are ranked by relevance,
+     *             recency and (with {@code near}) distance instead, see {@link JobSearchRepository}
+     */
+    @Transactional(readOnly = true)
+    public Page<JobResponse> listOpenJobs(Long categoryId, GeoArea near, String q, Pageable pageable) {
+        List<String> terms = searchTerms(q);
+        if (!terms.isEmpty()) {
+            return searchOpenJobs(terms, categoryId, near, pageable);
+        }
+        if (near == null) {
+            Page<JobRepository.JobListView> page = openJobFeedService.find(categoryId, pageable);
+            if (page == null) {
+                page = jobRepository.findPublicOpenJobViews(JobStatus.OPEN, categoryId, pageable);
+            }
+            return toResponses(page);
+        }
+        Page<Job> page = nearbySearchRepository.findPublicOpenJobsNear(near, categoryId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return page.map(j -> {
+            JobResponse response = toResponse(j);
+            if (j.getLocation() != null) {
+                response.setDistanceKm(near.distanceKm(j.getLocation().getLatitude(), j.getLocation().getLongitude()));
+            }
+            return response;
+        });
+    }
+
+    private Page<JobResponse> searchOpenJobs(List<String> terms, Long categoryId, GeoArea near, Pageable pageable) {
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Long> ids = fullTextJobSearch
+                ? jobSearchRepository.searchFullText(terms, categoryId, near, page)
+                : jobSearchRepository.searchPortable(terms, categoryId, near, page);
+        Map<Long, JobRepository.JobListView> views = new HashMap<>();
+        if (ids.hasContent()) {
+            for (JobRepository.JobListView v : jobRepository.findListViewsByIdIn(ids.getContent())) {
+                views.put(v.getId(), v);
+            }
+        }
+        List<JobResponse> content = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            JobRepository.JobListView v = views.get(id);
+            if (v == null) continue;
+            JobResponse response = toResponse(v);
+            if (near != null) {
+                response.setDistanceKm(near.distanceKm(v.getLatitude(), v.getLongitude()));
+            }
+            content.add(response);
+        }
+        return new PageImpl<>(content, page, ids.getTotalElements());
+    }
+
+    /** Lowercase letter/digit runs of the query, at most {@link #MAX_SEARCH_TERMS}; empty when there is nothing to search. */
+    private static List<String> searchTerms(String q) {
+        if (q == null || q.isBlank()) return List.of();
+        List<String> terms = new ArrayList<>();
+        for (String t : q.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty() && terms.size() < MAX_SEARCH_TERMS) terms.add(t);
+        }
+        return terms;
     }
 
     public JobResponse getById(Long jobId, Long userId) {
@@ -125,6 +203,7 @@ public class JobService {
         if (request.getBudgetMax() != null) job.setBudgetMax(request.getBudgetMax());
         if (request.getDurationHours() != null) job.setDurationHours(request.getDurationHours());
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(jobId));
         return toResponse(job);
     }
 
@@ -139,6 +218,7 @@ public class JobService {
         }
         job.setStatus(JobStatus.CANCELLED);
         jobRepository.save(job);
+        eventPublisher.publishEvent(OpenJobChangedEvent.forJob(jobId));
         for (Bid bid : bidRepository.findByJobOrderByCreatedAtDesc(job, Pageable.unpaged()).getContent()) {
             notificationService.create(bid.getMahir().getId(), "JOB_CANCELLED", "Job cancelled",
                     "The job you applied to has been cancelled.", jobId);
@@ -166,6 +246,39 @@ public class JobService {
                 .build();
     }
 
+    private Page<JobResponse> toResponses(Page<JobRepository.JobListView> page) {
+        return page.map(this::toResponse);
+    }
+
+    private JobResponse toResponse(JobRepository.JobListView v) {
+        boolean hasLocation = v.getStreetAddress() != null || v.getLatitude() != null || v.getLongitude() != null;
+        return JobResponse.builder()
+                .id(v.getId())
+                .postedById(v.getPostedById())
+                .posterName(v.getPosterName())
+                .posterEmail(v.getPosterEmail())
+                .categoryId(v.getCategoryId())
+                .categoryName(v.getCategoryName())
+                .title(v.getTitle())
+                .description(v.getDescription())
+                .location(!hasLocation ? null : LocationDto.builder()
+                        .streetAddress(v.getStreetAddress())
+                        .latitude(v.getLatitude())
+                        .longitude(v.getLongitude())
+                        .build())
+                .scheduledAt(v.getScheduledAt())
+                .budgetMin(v.getBudgetMin())
+                .budgetMax(v.getBudgetMax())
+                .durationHours(v.getDurationHours())
+                .status(v.getStatus())
+                .bidCount(v.getBidCount())
+                .hiddenFromPublic(v.getHiddenFromPublic())
+                .moderationBlocked(v.getModerationBlocked())
+                .createdAt(v.getCreatedAt())
+                .updatedAt(v.getUpdatedAt())
+                .build();
+    }
+
     private JobResponse toResponse(Job j) {
         Location loc = j.getLocation();
         LocationDto locDto = loc == null ? null : LocationDto.builder()
@@ -173,7 +286,6 @@ public class JobService {
                 .latitude(loc.getLatitude())
                 .longitude(loc.getLongitude())
                 .build();
-        int bidCount = (int) bidRepository.countByJobId(j.getId());
         return JobResponse.builder()
                 .id(j.getId())
                 .postedById(j.getPostedBy().getId())
@@ -189,7 +301,7 @@ public class JobService {
                 .budgetMax(j.getBudgetMax())
                 .durationHours(j.getDurationHours())
                 .status(j.getStatus())
-                .bidCount(bidCount)
+                .bidCount(j.getBidCount())
                 .hiddenFromPublic(j.isHiddenFromPublic())
                 .moderationBlocked(j.isModerationBlocked())
                 .createdAt(j.getCreatedAt())
@@ -0,0 +1,51 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.exception.BadRequestException;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parsed {@code before} query parameter for keyset pagination: either a row id (numeric) or an ISO-8601 instant.
+ */
+@Getter
+final class KeysetCursor {
+
+    static final int DEFAULT_MAX_LIMIT = 100;
+
+    private final Long id;
+    private final Instant createdAt;
+
+    private KeysetCursor(Long id, Instant createdAt) {
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+
+    /** Returns null when {@code before} is absent (first page). */
+    static KeysetCursor parse(String before) {
+        if (before == null || before.isBlank()) {
+            return null;
+        }
+        String v = before.trim();
+        if (v.chars().allMatch(Character::isDigit)) {
+            try {
+                return new KeysetCursor(Long.parseLong(v), null);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid before cursor: " + before);
+            }
+        }
+        try {
+            return new KeysetCursor(null, Instant.parse(v));
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("before must be an id or an ISO-8601 timestamp");
+        }
+    }
+
+    static int clampLimit(Integer limit, int defaultLimit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, DEFAULT_MAX_LIMIT));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demoapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Offline stand-in for FCM ({@code app.push.gateway=log}): logs every message and keeps the most recent
+ * ones in memory so the outbox pipeline can be exercised locally without Firebase credentials.
+ */
+@Component
+@ConditionalOnProperty(name = "app.push.gateway", havingValue = "log")
+@Slf4j
+public class LoggingPushGateway implements PushGateway {
+
+    private static final int KEEP_LAST = 1000;
+
+    private final List<Envelope> sent = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public List<Result> sendEach(List<Envelope> messages) {
+        List<Result> results = new ArrayList<>(messages.size());
+        for (Envelope e : messages) {
+            log.info("Push (log gateway) to token ...{}: title='{}', body='{}'",
+                    e.getToken().substring(Math.max(0, e.getToken().length() - 6)), e.getTitle(), e.getBody());
+            results.add(Result.sent("log-" + UUID.randomUUID()));
+        }
+        synchronized (sent) {
+            sent.addAll(messages);
+            if (sent.size() > KEEP_LAST) {
+                sent.subList(0, sent.size() - KEEP_LAST).clear();
+            }
+        }
+        return results;
+    }
+
+    /** Messages "delivered" so far (most recent last). */
+    public List<Envelope> getSent() {
+        synchronized (sent) {
+            return List.copyOf(sent);
+        }
+    }
+}
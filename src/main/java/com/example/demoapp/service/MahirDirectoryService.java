@@ -0,0 +1,343 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.datasource.ReadWriteRoutingDataSource;
+import com.example.demoapp.dto.CategoryResponse;
+import com.example.demoapp.entity.AccountType;
+import com.example.demoapp.entity.Category;
+import com.example.demoapp.entity.Location;
+import com.example.demoapp.entity.MahirRatingStats;
+import com.example.demoapp.entity.Role;
+import com.example.demoapp.entity.User;
+import com.example.demoapp.event.MahirProfileChangedEvent;
+import com.example.demoapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory read model behind {@code GET /api/mahirs} when no lat/lng is given. For each category it keeps a
+ * sorted {@code long[]} of listable Mahir ids (role MAHIR, not blocked), and for each Mahir a compact
+ * {@link MahirSummary} with everything the search response shows, rating included. Serving a page is an
+ * array slice plus one map lookup per row; the database is not touched.
+ * <p>
+ * All writes happen on one background thread: the full build once the application is ready, a periodic
+ * rebuild (which also picks up changes made by other instances), and single-Mahir reloads triggered by
+ * {@link MahirProfileChangedEvent} after the publishing transaction commits. Id arrays are copy-on-write, so
+ * readers never lock. Until the first build has finished {@link #isReady()} is false and callers query the
+ * database instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MahirDirectoryService {
+
+    private static final int BUILD_CHUNK = 1000;
+    private static final long[] NO_IDS = new long[0];
+
+    private final UserRepository userRepository;
+    private final MahirRatingService mahirRatingService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.mahir-directory.enabled:true}")
+    private boolean enabled;
+
+    /** Event listeners run after the caller's commit, where a joined transaction would no longer be usable. */
+    private TransactionTemplate readTransaction;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "mahir-directory");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final Map<Long, MahirSummary> summaries = new ConcurrentHashMap<>();
+    private volatile Index index = Index.EMPTY;
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * One page of listable Mahirs, optionally restricted to a category. Only id order is indexed; returns null
+     * for any other sort, or before the first build, so the caller can fall back to the database.
+     */
+    public Page<MahirSummary> find(Long categoryId, Pageable pageable) {
+        if (!ready) return null;
+        boolean descending = false;
+        if (pageable.getSort().isSorted()) {
+            List<Sort.Order> orders = pageable.getSort().toList();
+            if (orders.size() != 1 || !"id".equals(orders.get(0).getProperty())) return null;
+            descending = orders.get(0).isDescending();
+        }
+        Index current = index;
+        long[] ids = categoryId == null ? current.all : current.byCategory.getOrDefault(categoryId, NO_IDS);
+        List<MahirSummary> content = new ArrayList<>(pageable.getPageSize());
+        long offset = pageable.getOffset();
+        for (long i = offset; i < ids.length && content.size() < pageable.getPageSize(); i++) {
+            long id = ids[(int) (descending ? ids.length - 1 - i : i)];
+            MahirSummary summary = summaries.get(id);
+            if (summary != null) { // null only while a concurrent removal is being applied
+                content.add(summary);
+            }
+        }
+        return new PageImpl<>(content, pageable, ids.length);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mahir-directory.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.mahir-directory.rebuild-interval-ms:900000}")
+    public void requestRebuild() {
+        if (!enabled || !rebuildQueued.compareAndSet(false, true)) return;
+        submit(() -> {
+            rebuildQueued.set(false);
+            rebuild();
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(MahirProfileChangedEvent event) {
+        if (!enabled || event.getUserId() == null) return;
+        Long userId = event.getUserId();
+        // Before the first build there is nothing to patch; the build itself reads the committed row
+        submit(() -> {
+            if (ready) refresh(userId);
+        });
+    }
+
+    private void submit(Runnable task) {
+        try {
+            worker.execute(() -> {
+                // Updates follow writes that were just committed on the primary; a replica may lag behind them
+                try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("Mahir directory update failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Mahir directory update dropped during shutdown");
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, MahirSummary> fresh = new HashMap<>();
+        Map<Long, List<Long>> idsByCategory = new HashMap<>();
+        List<Long> all = new ArrayList<>();
+        Long afterId = 0L;
+        while (true) {
+            Long cursor = afterId;
+            List<MahirSummary> chunk = readTransaction.execute(status -> loadChunk(cursor));
+            if (chunk == null || chunk.isEmpty()) break;
+            for (MahirSummary s : chunk) {
+                fresh.put(s.getId(), s);
+                all.add(s.getId());
+                for (long categoryId : s.categoryIds) {
+                    idsByCategory.computeIfAbsent(categoryId, k -> new ArrayList<>()).add(s.getId());
+                }
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        Map<Long, long[]> byCategory = new HashMap<>();
+        idsByCategory.forEach((categoryId, ids) -> byCategory.put(categoryId, toSortedArray(ids)));
+
+        summaries.putAll(fresh);
+        index = new Index(toSortedArray(all), byCategory);
+        summaries.keySet().retainAll(fresh.keySet());
+        ready = true;
+        log.info("Mahir directory built: {} Mahirs in {} categories ({} ms)",
+                fresh.size(), byCategory.size(), System.currentTimeMillis() - started);
+    }
+
+    private List<MahirSummary> loadChunk(Long afterId) {
+        List<Long> ids = userRepository.findActiveIdsByRole(Role.MAHIR, afterId, PageRequest.of(0, BUILD_CHUNK));
+        if (ids.isEmpty()) return List.of();
+        Map<Long, MahirRatingStats> stats = mahirRatingService.getStats(ids);
+        List<MahirSummary> chunk = new ArrayList<>(ids.size());
+        for (User u : userRepository.findAllWithCategoriesByIdIn(ids)) {
+            chunk.add(toSummary(u, stats.get(u.getId())));
+        }
+        chunk.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return chunk;
+    }
+
+    /** Reloads one user and moves them into, within, or out of the index. */
+    private void refresh(Long userId) {
+        MahirSummary next = readTransaction.execute(status -> {
+            List<User> found = userRepository.findAllWithCategoriesByIdIn(List.of(userId));
+            if (found.isEmpty()) return null;
+            User u = found.get(0);
+            if (u.getRole() != Role.MAHIR || u.isBlocked()) return null;
+            return toSummary(u, mahirRatingService.getStats(userId));
+        });
+        MahirSummary prev = summaries.get(userId);
+        if (prev == null && next == null) return;
+
+        long[] before = prev == null ? NO_IDS : prev.categoryIds;
+        long[] after = next == null ? NO_IDS : next.categoryIds;
+        Index current = index;
+        long[] all = current.all;
+        if (prev == null) {
+            all = withId(all, userId);
+        } else if (next == null) {
+            all = withoutId(all, userId);
+        }
+        Map<Long, long[]> byCategory = current.byCategory;
+        if (!Arrays.equals(before, after)) {
+            byCategory = new HashMap<>(current.byCategory);
+            for (long categoryId : before) {
+                if (Arrays.binarySearch(after, categoryId) < 0) {
+                    byCategory.computeIfPresent(categoryId, (k, ids) -> withoutId(ids, userId));
+                }
+            }
+            for (long categoryId : after) {
+                if (Arrays.binarySearch(before, categoryId) < 0) {
+                    byCategory.put(categoryId, withId(byCategory.getOrDefault(categoryId, NO_IDS), userId));
+                }
+            }
+        }
+        // Summary first on insert and last on removal, so a published id always resolves
+        if (next != null) summaries.put(userId, next);
+        index = new Index(all, byCategory);
+        if (next == null) summaries.remove(userId);
+    }
+
+    private static MahirSummary toSummary(User user, MahirRatingStats stats) {
+        List<Category> categories = user.getServiceCategories() == null ? List.of() : user.getServiceCategories();
+        long[] categoryIds = categories.stream().mapToLong(Category::getId).sorted().distinct().toArray();
+        Location loc = user.getLocation();
+        return MahirSummary.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .streetAddress(loc == null ? null : loc.getStreetAddress())
+                .latitude(loc == null ? null : loc.getLatitude())
+                .longitude(loc == null ? null : loc.getLongitude())
+                .accountType(user.getAccountType())
+                .serviceCategories(categories.stream()
+                        .map(c -> CategoryResponse.builder().id(c.getId()).name(c.getName()).description(c.getDescription()).build())
+                        .toList())
+                .categoryIds(categoryIds)
+                .customServiceName(user.getCustomServiceName())
+                .averageRating(stats.getAverageRating())
+                .reviewCount(stats.getRatingCount())
+                .build();
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        long[] out = new long[ids.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = ids.get(i);
+        }
+        Arrays.sort(out);
+        return out;
+    }
+
+    private static long[] withId(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) return ids;
+        int insert = -pos - 1;
+        long[] out = new long[ids.length + 1];
+        System.arraycopy(ids, 0, out, 0, insert);
+        out[insert] = id;
+        System.arraycopy(ids, insert, out, insert + 1, ids.length - insert);
+        return out;
+    }
+
+    private static long[] withoutId(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) return ids;
+        long[] out = new long[ids.length - 1];
+        System.arraycopy(ids, 0, out, 0, pos);
+        System.arraycopy(ids, pos + 1, out, pos, ids.length - pos - 1);
+        return out;
+    }
+
+    /** Immutable once published; every change swaps in a new instance. */
+    private static final class Index {
+
+        static final Index EMPTY = new Index(NO_IDS, Map.of());
+
+        final long[] all;
+        final Map<Long, long[]> byCategory;
+
+        Index(long[] all, Map<Long, long[]> byCategory) {
+            this.all = all;
+            this.byCategory = byCategory;
+        }
+    }
+
+    /**
+     * What search needs to render one Mahir. Category DTOs are shared between responses and must not be
+     * modified by callers.
+     */
+    @Getter
+    @Builder
+    public static class MahirSummary {
+
+        private final Long id;
+        private final String fullName;
+        private final String email;
+        private final String phoneNumber;
+        private final String streetAddress;
+        private final Double latitude;
+        private final Double longitude;
+        private final AccountType accountType;
+        private final List<CategoryResponse> serviceCategories;
+        private final String customServiceName;
+        private final double averageRating;
+        private final long reviewCount;
+
+        /** Sorted, for diffing category membership on refresh. */
+        @Getter(lombok.AccessLevel.NONE)
+        private final long[] categoryIds;
+    }
+}
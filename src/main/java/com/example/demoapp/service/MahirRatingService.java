@@ -0,0 +1,201 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.MahirRatingStats;
+import com.example.demoapp.entity.Review;
+import com.example.demoapp.event.MahirProfileChangedEvent;
+import com.example.demoapp.repository.MahirRatingStatsRepository;
+import com.example.demoapp.repository.ReviewRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link MahirRatingStats} in step with public reviews and serves rating/count to listings.
+ * Every write path that changes a review's rating, visibility or existence must report it here;
+ * {@link #rebuildAll()} runs nightly to correct any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MahirRatingService {
+
+    private final MahirRatingStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records a change to one review. Pass the rating the review contributed before the change and after it,
+     * or null when it did not count (hidden, not yet created, deleted).
+     */
+    @Transactional
+    public void recordChange(Long mahirId, Integer ratingBefore, Integer ratingAfter) {
+        if (mahirId == null || Objects.equals(ratingBefore, ratingAfter)) return;
+        long[] d = new long[6];
+        long sumDelta = 0;
+        long countDelta = 0;
+        if (ratingBefore != null && inRange(ratingBefore)) {
+            d[ratingBefore]--;
+            sumDelta -= ratingBefore;
+            countDelta--;
+        }
+        if (ratingAfter != null && inRange(ratingAfter)) {
+            d[ratingAfter]++;
+            sumDelta += ratingAfter;
+            countDelta++;
+        }
+        int updated = statsRepository.applyDelta(mahirId, sumDelta, countDelta, d[1], d[2], d[3], d[4], d[5], Instant.now());
+        if (updated == 0) {
+            createRow(mahirId);
+            statsRepository.applyDelta(mahirId, sumDelta, countDelta, d[1], d[2], d[3], d[4], d[5], Instant.now());
+        }
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(mahirId));
+    }
+
+    /** Convenience for {@link #recordChange}: the rating a review currently contributes (null if hidden). */
+    public static Integer publicRating(Review review) {
+        return review.isHiddenFromPublic() ? null : review.getRating();
+    }
+
+    @Transactional(readOnly = true)
+    public MahirRatingStats getStats(Long mahirId) {
+        return statsRepository.findById(mahirId).orElseGet(() -> empty(mahirId));
+    }
+
+    /** Stats for a page of Mahirs in one query; Mahirs without reviews get an empty row. */
+    @Transactional(readOnly = true)
+    public Map<Long, MahirRatingStats> getStats(Collection<Long> mahirIds) {
+        Map<Long, MahirRatingStats> byId = statsRepository.findAllById(mahirIds).stream()
+                .collect(Collectors.toMap(MahirRatingStats::getMahirId, Function.identity()));
+        mahirIds.forEach(id -> byId.computeIfAbsent(id, MahirRatingService::empty));
+        return byId;
+    }
+
+    /**
+     * Databases created by ddl-auto (H2/MySQL) have no backfill migration; seed the table on first start.
+     * Ordered ahead of other ready listeners so {@link MahirDirectoryService} builds from seeded stats.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (statsRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    /** Recomputes every Mahir's stats from {@code reviews} and fixes rows that drifted. */
+    @Scheduled(cron = "${app.rating-stats.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuildAll() {
+        Map<Long, MahirRatingStats> expected = new HashMap<>();
+        for (Object[] row : reviewRepository.countPublicByMahirAndRating()) {
+            Long mahirId = (Long) row[0];
+            addToHistogram(expected.computeIfAbsent(mahirId, MahirRatingService::empty), (Integer) row[1], (Long) row[2]);
+        }
+        int fixed = 0;
+        for (MahirRatingStats current : statsRepository.findAll()) {
+            MahirRatingStats want = expected.remove(current.getMahirId());
+            if (want == null) {
+                statsRepository.delete(current);
+                fixed++;
+            } else if (!sameCounts(current, want)) {
+                copyCounts(want, current);
+                fixed++;
+            }
+        }
+        statsRepository.saveAll(expected.values());
+        fixed += expected.size();
+        if (fixed > 0) {
+            log.warn("Mahir rating stats rebuild corrected {} rows", fixed);
+        }
+    }
+
+    /**
+     * First rating for this Mahir: inserts the row built from committed reviews (so without the caller's change,
+     * which is then applied as a delta) in its own transaction. When two first reviews race, the loser's insert
+     * waits for the winner's and fails on the key; it is dropped and both deltas land on the winner's row.
+     * A failed insert inside the caller's transaction would have aborted it (Postgres) and lost the review.
+     */
+    private void createRow(Long mahirId) {
+        try {
+            requiresNew.executeWithoutResult(status -> statsRepository.saveAndFlush(recompute(mahirId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rating stats row for Mahir {} created concurrently", mahirId);
+        }
+    }
+
+    private MahirRatingStats recompute(Long mahirId) {
+        MahirRatingStats stats = empty(mahirId);
+        List<Object[]> rows = reviewRepository.countPublicByRatingForMahir(mahirId);
+        for (Object[] row : rows) {
+            addToHistogram(stats, (Integer) row[0], (Long) row[1]);
+        }
+        return stats;
+    }
+
+    private static boolean inRange(int rating) {
+        return rating >= 1 && rating <= 5;
+    }
+
+    private static MahirRatingStats empty(Long mahirId) {
+        return MahirRatingStats.builder().mahirId(mahirId).build();
+    }
+
+    private static void addToHistogram(MahirRatingStats s, int rating, long count) {
+        s.setRatingSum(s.getRatingSum() + (long) rating * count);
+        s.setRatingCount(s.getRatingCount() + count);
+        switch (rating) {
+            case 1 -> s.setStars1(s.getStars1() + count);
+            case 2 -> s.setStars2(s.getStars2() + count);
+            case 3 -> s.setStars3(s.getStars3() + count);
+            case 4 -> s.setStars4(s.getStars4() + count);
+            case 5 -> s.setStars5(s.getStars5() + count);
+            default -> { }
+        }
+    }
+
+    private static boolean sameCounts(MahirRatingStats a, MahirRatingStats b) {
+        return a.getRatingSum() == b.getRatingSum() && a.getRatingCount() == b.getRatingCount()
+                && a.getStars1() == b.getStars1() && a.getStars2() == b.getStars2() && a.getStars3() == b.getStars3()
+                && a.getStars4() == b.getStars4() && a.getStars5() == b.getStars5();
+    }
+
+    private static void copyCounts(MahirRatingStats from, MahirRatingStats to) {
+        to.setRatingSum(from.getRatingSum());
+        to.setRatingCount(from.getRatingCount());
+        to.setStars1(from.getStars1());
+        to.setStars2(from.getStars2());
+        to.setStars3(from.getStars3());
+        to.setStars4(from.getStars4());
+        to.setStars5(from.getStars5());
+    }
+}
@@ -3,16 +3,21 @@ package com.example.demoapp.service;
 import com.example.demoapp.dto.CategoryResponse;
 import com.example.demoapp.dto.LocationDto;
 import com.example.demoapp.dto.MahirResponse;
+import com.example.demoapp.entity.MahirRatingStats;
 import com.example.demoapp.entity.Role;
 import com.example.demoapp.entity.User;
-import com.example.demoapp.repository.ReviewRepository;
+import com.example.demoapp.geo.GeoArea;
+import com.example.demoapp.repository.NearbySearchRepository;
 import com.example.demoapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,15 +25,46 @@ import java.util.stream.Collectors;
 public class MahirSearchService {
 
     private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
+    private final MahirRatingService mahirRatingService;
+    private final NearbySearchRepository nearbySearchRepository;
+    private final MahirDirectoryService mahirDirectoryService;
 
-    public Page<MahirResponse> searchMahirs(Long categoryId, Pageable pageable, boolean maskEmailAndPhone) {
-        Page<User> mahirs = categoryId != null
-                ? userRepository.findActiveMahirsByCategory(Role.MAHIR, categoryId, pageable)
-                : userRepository.findByRoleAndBlockedFalse(Role.MAHIR, pageable);
-        return mahirs.map(u -> toMahirResponse(u, maskEmailAndPhone));
+    /**
+     * Plain listings (no {@code near}) are served from {@link MahirDirectoryService} once it is built; the
+     * database is queried for nearby searches, non-id sorts and during startup.
+     *
+     * @param near when non-null, only Mahirs within the radius are returned, nearest first (the pageable's sort
+     *             is ignored), each with {@code distanceKm}
+     */
+    @Transactional(readOnly = true)
+    public Page<MahirResponse> searchMahirs(Long categoryId, GeoArea near, Pageable pageable, boolean maskEmailAndPhone) {
+        if (near == null) {
+            Page<MahirDirectoryService.MahirSummary> listed = mahirDirectoryService.find(categoryId, pageable);
+            if (listed != null) {
+                return listed.map(s -> toMahirResponse(s, maskEmailAndPhone));
+            }
+        }
+        Page<User> mahirs;
+        if (near != null) {
+            mahirs = nearbySearchRepository.findActiveMahirsNear(near, categoryId,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        } else if (categoryId != null) {
+            mahirs = userRepository.findActiveMahirsByCategory(Role.MAHIR, categoryId, pageable);
+        } else {
+            mahirs = userRepository.findByRoleAndBlockedFalse(Role.MAHIR, pageable);
+        }
+        Map<Long, MahirRatingStats> stats = mahirRatingService.getStats(
+                mahirs.getContent().stream().map(User::getId).collect(Collectors.toSet()));
+        return mahirs.map(u -> {
+            MahirResponse response = toMahirResponse(u, stats.get(u.getId()), maskEmailAndPhone);
+            if (near != null && u.getLocation() != null) {
+                response.setDistanceKm(near.distanceKm(u.getLocation().getLatitude(), u.getLocation().getLongitude()));
+            }
+            return response;
+        });
     }
 
+    @Transactional(readOnly = true)
     public MahirResponse getMahirById(Long id, boolean maskEmailAndPhone) {
         User mahir = userRepository.findById(id)
                 .orElseThrow(() -> new com.example.demoapp.exception.ResourceNotFoundException("Mahir", id));
@@ -38,12 +74,34 @@ public class MahirSearchService {
         if (mahir.isBlocked()) {
             throw new com.example.demoapp.exception.ResourceNotFoundException("Mahir", id);
         }
-        return toMahirResponse(mahir, maskEmailAndPhone);
+        return toMahirResponse(mahir, mahirRatingService.getStats(id), maskEmailAndPhone);
+    }
+
+    private MahirResponse toMahirResponse(MahirDirectoryService.MahirSummary s, boolean maskEmailAndPhone) {
+        LocationDto locDto = null;
+        if (s.getStreetAddress() != null || s.getLatitude() != null || s.getLongitude() != null) {
+            locDto = LocationDto.builder()
+                    .streetAddress(s.getStreetAddress())
+                    .latitude(s.getLatitude())
+                    .longitude(s.getLongitude())
+                    .build();
+        }
+        return MahirResponse.builder()
+                .id(s.getId())
+                .fullName(s.getFullName())
+                .email(maskEmailAndPhone ? null : s.getEmail())
+                .phoneNumber(maskEmailAndPhone ? null : s.getPhoneNumber())
+                .location(locDto)
+                .accountType(s.getAccountType())
+                .serviceCategories(s.getServiceCategories())
+                .customServiceName(s.getCustomServiceName())
+                .averageRating(s.getAverageRating())
+                .reviewCount(s.getReviewCount())
+                .role("MAHIR")
+                .build();
     }
 
-    private MahirResponse toMahirResponse(User user, boolean maskEmailAndPhone) {
-        Double avgRating = reviewRepository.getAverageRatingByMahirId(user.getId());
-        long reviewCount = reviewRepository.countPublicByMahirId(user.getId());
+    private MahirResponse toMahirResponse(User user, MahirRatingStats ratingStats, boolean maskEmailAndPhone) {
         LocationDto locDto = null;
         if (user.getLocation() != null) {
             locDto = LocationDto.builder()
@@ -64,8 +122,8 @@ public class MahirSearchService {
                 .accountType(user.getAccountType())
                 .serviceCategories(categories)
                 .customServiceName(user.getCustomServiceName())
-                .averageRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : null)
-                .reviewCount(reviewCount)
+                .averageRating(ratingStats.getAverageRating())
+                .reviewCount(ratingStats.getRatingCount())
                 .role("MAHIR")
                 .build();
     }
@@ -4,8 +4,10 @@ import com.example.demoapp.entity.AccountType;
 import com.example.demoapp.entity.MembershipPlan;
 import com.example.demoapp.entity.Role;
 import com.example.demoapp.entity.User;
+import com.example.demoapp.event.MahirProfileChangedEvent;
 import com.example.demoapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class MembershipPlanUserSyncService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * After a Mahir is linked to a membership plan row, align {@link AccountType} and WhatsApp credits
@@ -34,6 +37,7 @@ public class MembershipPlanUserSyncService {
             user.setCredits(9999);
         }
         userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(user.getId()));
     }
 
     @Transactional
@@ -44,5 +48,6 @@ public class MembershipPlanUserSyncService {
         user.setAccountType(AccountType.FREEMIUM);
         user.setCredits(3);
         userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(user.getId()));
     }
 }
@@ -0,0 +1,95 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.Role;
+import com.example.demoapp.event.JobPostedEvent;
+import com.example.demoapp.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * NEW_JOB notifications for every active Mahir in a new job's category, written on a background thread after
+ * the job has committed. Mahir ids are walked in chunks of {@link #CHUNK}, each chunk one transaction with one
+ * batched insert (and its push outbox rows), so a large category neither holds the poster's transaction open
+ * nor builds one huge transaction here.
+ * <p>
+ * The fan-out lives only in memory: jobs committed just before an instance stops may miss their alerts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NewJobFanoutService {
+
+    static final int CHUNK = 500;
+
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "new-job-fanout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdown();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onJobPosted(JobPostedEvent event) {
+        try {
+            worker.execute(() -> {
+                try {
+                    fanOut(event);
+                } catch (Exception e) {
+                    log.warn("New job fan-out for job {} failed: {}", event.getJobId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("New job fan-out for job {} dropped during shutdown", event.getJobId());
+        }
+    }
+
+    private void fanOut(JobPostedEvent event) {
+        String title = "New job";
+        String body = "A new job in " + event.getCategoryName() + ": " + event.getTitle();
+        Long afterId = 0L;
+        int sent = 0;
+        while (afterId != null) {
+            Long from = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = userRepository.findActiveMahirIdsByCategory(
+                        Role.MAHIR, event.getCategoryId(), from, PageRequest.of(0, CHUNK));
+                if (ids.isEmpty()) return new Chunk(null, 0);
+                List<Long> recipients = ids.stream()
+                        .filter(id -> !id.equals(event.getPostedById()))
+                        .collect(Collectors.toList());
+                int written = notificationService.createBulk(recipients, "NEW_JOB", title, body, event.getJobId());
+                return new Chunk(ids.size() == CHUNK ? ids.get(ids.size() - 1) : null, written);
+            });
+            if (chunk == null) break;
+            sent += chunk.written;
+            afterId = chunk.nextAfterId;
+        }
+        log.debug("New job {}: {} Mahirs notified", event.getJobId(), sent);
+    }
+
+    @RequiredArgsConstructor
+    private static class Chunk {
+        private final Long nextAfterId;
+        private final int written;
+    }
+}
@@ -8,6 +8,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Maps in-app notification {@code type} strings to user preference flags and decides if FCM push is allowed.
  */
@@ -31,15 +35,38 @@ public class NotificationPushPreferenceService {
             return false;
         }
         return preferencesRepository.findByUser(user)
-                .map(p -> switch (categoryForType(notificationType)) {
-                    case INBOX -> p.isInboxMessages();
-                    case RATING -> p.isRatingReminders();
-                    case PROMO -> p.isPromotionsAndTips();
-                    case ACCOUNT -> p.isYourAccount();
-                })
+                .map(p -> allows(p, notificationType))
                 .orElse(true);
     }
 
+    /**
+     * Batch form for the push dispatcher: preferences of the given users keyed by user id, in one query.
+     * Users without a row are absent and get every push type (see {@link #isPushAllowed(UserNotificationPreferences, String)}).
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UserNotificationPreferences> findPreferences(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, UserNotificationPreferences> byUser = new HashMap<>();
+        preferencesRepository.findByUserIdIn(userIds).forEach(p -> byUser.put(p.getUserId(), p));
+        return byUser;
+    }
+
+    /** Same decision as {@link #isPushAllowed(Long, String)} for preferences that are already loaded (null = defaults). */
+    public boolean isPushAllowed(UserNotificationPreferences preferences, String notificationType) {
+        return preferences == null || notificationType == null || allows(preferences, notificationType);
+    }
+
+    private boolean allows(UserNotificationPreferences p, String notificationType) {
+        return switch (categoryForType(notificationType)) {
+            case INBOX -> p.isInboxMessages();
+            case RATING -> p.isRatingReminders();
+            case PROMO -> p.isPromotionsAndTips();
+            case ACCOUNT -> p.isYourAccount();
+        };
+    }
+
     private enum Category {
         INBOX,
         RATING,
@@ -1,25 +1,41 @@
 package com.example.demoapp.service;
 
+import com.example.demoapp.dto.CursorPageResponse;
 import com.example.demoapp.dto.NotificationResponse;
 import com.example.demoapp.entity.Notification;
 import com.example.demoapp.entity.User;
+import com.example.demoapp.exception.BadRequestException;
 import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnauthorizedException;
 import com.example.demoapp.repository.NotificationRepository;
 import com.example.demoapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    static final int BULK_BATCH_SIZE = 500;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final PushNotificationService pushNotificationService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public void create(Long userId, String type, String title, String body, Long relatedId) {
@@ -32,7 +48,34 @@ public class NotificationService {
                 .relatedId(relatedId)
                 .build();
         notificationRepository.save(n);
-        pushNotificationService.sendToUser(userId, title, body, type);
+        pushNotificationService.enqueue(userId, title, body, type);
+    }
+
+    /**
+     * Fan-out variant of {@link #create} for many recipients with the same content: the in-app rows go out as
+     * one JDBC batch and the pushes as another, without loading the users. {@code Notification} uses IDENTITY
+     * ids, which Hibernate never batches, hence plain JDBC here.
+     *
+     * @return number of notifications written
+     */
+    @Transactional
+    public int createBulk(Collection<Long> userIds, String type, String title, String body, Long relatedId) {
+        List<Long> recipients = userIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (recipients.isEmpty()) return 0;
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notifications (user_id, type, title, body, related_id, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                recipients, BULK_BATCH_SIZE, (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setString(2, type);
+                    ps.setString(3, title);
+                    ps.setString(4, body);
+                    if (relatedId != null) ps.setLong(5, relatedId);
+                    else ps.setNull(5, Types.BIGINT);
+                    ps.setObject(6, now);
+                });
+        pushNotificationService.enqueueBulk(recipients, title, body, type);
+        return recipients.size();
     }
 
     public Page<NotificationResponse> listMy(Long userId, Pageable pageable) {
@@ -40,6 +83,27 @@ public class NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable).map(this::toResponse);
     }
 
+    /**
+     * Keyset variant of {@link #listMy}: newest first, strictly older than {@code before}
+     * (notification id or ISO-8601 instant). Skips the COUNT query a {@link Page} would run.
+     */
+    public CursorPageResponse<NotificationResponse> listMyBefore(Long userId, String before, Integer limit) {
+        Pageable first = PageRequest.of(0, KeysetCursor.clampLimit(limit, 20));
+        KeysetCursor cursor = KeysetCursor.parse(before);
+        Slice<Notification> slice;
+        if (cursor == null) {
+            slice = notificationRepository.findSliceForUser(userId, first);
+        } else if (cursor.getId() != null) {
+            Notification anchor = notificationRepository.findById(cursor.getId())
+                    .filter(n -> n.getUser().getId().equals(userId))
+                    .orElseThrow(() -> new BadRequestException("before does not reference one of your notifications"));
+            slice = notificationRepository.findSliceForUserBefore(userId, anchor.getCreatedAt(), anchor.getId(), first);
+        } else {
+            slice = notificationRepository.findSliceForUserBeforeTime(userId, cursor.getCreatedAt(), first);
+        }
+        return CursorPageResponse.fromSlice(slice.map(this::toResponse), NotificationResponse::getId);
+    }
+
     /**
      * Send a push notification to a specific FCM device token (e.g. for testing).
      * Delegates to PushNotificationService. Returns FCM message ID or null if Firebase not initialized.
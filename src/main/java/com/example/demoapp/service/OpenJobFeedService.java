@@ -0,0 +1,265 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.datasource.ReadWriteRoutingDataSource;
+import com.example.demoapp.entity.JobStatus;
+import com.example.demoapp.event.OpenJobChangedEvent;
+import com.example.demoapp.repository.JobRepository;
+import com.example.demoapp.repository.JobRepository.JobListView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory head of the public open-jobs feed ({@code GET /api/jobs} without lat/lng). For the whole feed and
+ * for each category it keeps a ring of the newest {@code app.job-feed.ring-size} job cards, in the order of
+ * {@link JobRepository#findPublicOpenJobViews}, plus the total number of open jobs. A page that lies inside
+ * the ring is a sublist; deeper pages return null and the caller reads the database.
+ * <p>
+ * Works like {@link MahirDirectoryService}: one background thread builds the rings once the application is
+ * ready and again every {@code app.job-feed.rebuild-interval-ms} (which also picks up writes made by other
+ * instances), and applies {@link OpenJobChangedEvent}s after the publishing transaction commits. Readers only
+ * ever see immutable snapshots.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OpenJobFeedService {
+
+    /** Same order as the feed query: createdAt DESC, id DESC. */
+    private static final Comparator<JobListView> NEWEST_FIRST = Comparator
+            .comparing(JobListView::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(JobListView::getId, Comparator.reverseOrder());
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.job-feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.job-feed.ring-size:200}")
+    private int ringSize;
+
+    /** Event listeners run after the caller's commit, where a joined transaction would no longer be usable. */
+    private TransactionTemplate readTransaction;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "open-job-feed");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    /** Category of every job currently in the feed (ring or not); used to keep totals exact. Worker thread only. */
+    private Map<Long, Long> feedCategory = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * One page of the open-jobs feed, optionally for one category, or null when the page reaches past the ring,
+     * the feed has not been built yet, or the request sorts by anything other than {@code createdAt}.
+     */
+    public Page<JobListView> find(Long categoryId, Pageable pageable) {
+        if (!ready) return null;
+        for (Sort.Order order : pageable.getSort()) {
+            if (!"createdAt".equals(order.getProperty())) return null;
+        }
+        Snapshot current = snapshot;
+        Feed feed = categoryId == null ? current.all : current.byCategory.getOrDefault(categoryId, Feed.EMPTY);
+        int held = feed.newest.size();
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end > held && held < feed.total) return null;
+        int from = (int) Math.min(pageable.getOffset(), held);
+        int to = (int) Math.min(end, held);
+        return new PageImpl<>(feed.newest.subList(from, to), pageable, feed.total);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.job-feed.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.job-feed.rebuild-interval-ms:300000}")
+    public void requestRebuild() {
+        if (!enabled || !rebuildQueued.compareAndSet(false, true)) return;
+        submit(() -> {
+            rebuildQueued.set(false);
+            rebuild();
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpenJobChanged(OpenJobChangedEvent event) {
+        if (!enabled) return;
+        if (event.getPostedById() != null) {
+            // Blocking a poster can move any number of jobs; rare enough to just rebuild
+            requestRebuild();
+            return;
+        }
+        Long jobId = event.getJobId();
+        if (jobId == null) return;
+        submit(() -> {
+            if (ready) refresh(jobId);
+        });
+    }
+
+    private void submit(Runnable task) {
+        try {
+            worker.execute(() -> {
+                // Updates follow writes that were just committed on the primary; a replica may lag behind them
+                try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.pinToPrimary()) {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("Open job feed update failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Open job feed update dropped during shutdown");
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, Long> membership = new HashMap<>();
+        Snapshot fresh = readTransaction.execute(status -> load(membership));
+        feedCategory = membership;
+        snapshot = fresh;
+        ready = true;
+        log.info("Open job feed built: {} jobs in {} categories ({} ms)",
+                fresh.all.total, fresh.byCategory.size(), System.currentTimeMillis() - started);
+    }
+
+    private Snapshot load(Map<Long, Long> membership) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Object[] row : jobRepository.findPublicOpenJobCategories(JobStatus.OPEN)) {
+            membership.put((Long) row[0], (Long) row[1]);
+            totals.merge((Long) row[1], 1L, Long::sum);
+        }
+        PageRequest head = PageRequest.of(0, ringSize);
+        Feed all = new Feed(jobRepository.findPublicOpenJobViews(JobStatus.OPEN, null, head).getContent(), membership.size());
+        Map<Long, Feed> byCategory = new HashMap<>();
+        totals.forEach((categoryId, total) -> byCategory.put(categoryId,
+                new Feed(jobRepository.findPublicOpenJobViews(JobStatus.OPEN, categoryId, head).getContent(), total)));
+        return new Snapshot(all, byCategory);
+    }
+
+    /** Reloads one job and moves it into, within, or out of the feed. */
+    private void refresh(Long jobId) {
+        JobListView next = readTransaction.execute(status ->
+                jobRepository.findPublicOpenJobView(JobStatus.OPEN, jobId).orElse(null));
+        Long previousCategory = feedCategory.get(jobId);
+        if (previousCategory == null && next == null) return;
+
+        Snapshot current = snapshot;
+        Feed all = current.all;
+        Map<Long, Feed> byCategory = new HashMap<>(current.byCategory);
+        if (previousCategory != null) {
+            all = all.without(jobId);
+            byCategory.computeIfPresent(previousCategory, (k, feed) -> feed.without(jobId));
+            feedCategory.remove(jobId);
+        }
+        if (next != null) {
+            all = all.with(next, ringSize);
+            byCategory.put(next.getCategoryId(), byCategory.getOrDefault(next.getCategoryId(), Feed.EMPTY).with(next, ringSize));
+            feedCategory.put(jobId, next.getCategoryId());
+        }
+        snapshot = new Snapshot(all, byCategory);
+    }
+
+    /** Immutable once published; every change swaps in a new instance. */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Feed.EMPTY, Map.of());
+
+        final Feed all;
+        final Map<Long, Feed> byCategory;
+
+        Snapshot(Feed all, Map<Long, Feed> byCategory) {
+            this.all = all;
+            this.byCategory = byCategory;
+        }
+    }
+
+    /**
+     * The newest jobs of one feed and the feed's size. The ring is always an exact prefix of the feed; when it
+     * holds every job ({@code newest.size() == total}) any page can be served from it.
+     */
+    private static final class Feed {
+
+        static final Feed EMPTY = new Feed(List.of(), 0);
+
+        final List<JobListView> newest;
+        final long total;
+
+        Feed(List<JobListView> newest, long total) {
+            this.newest = newest;
+            this.total = total;
+        }
+
+        /** Caller guarantees the job is currently in this feed. */
+        Feed without(Long jobId) {
+            List<JobListView> kept = newest.stream().filter(v -> !v.getId().equals(jobId)).toList();
+            return new Feed(kept, total - 1);
+        }
+
+        /**
+         * Adds a job that is not currently in this feed. It enters the ring only where the ring is known to be
+         * the exact prefix: when the ring is complete, or the job sorts before the ring's last entry.
+         */
+        Feed with(JobListView job, int capacity) {
+            boolean complete = newest.size() == total;
+            boolean insideRing = complete
+                    || (!newest.isEmpty() && NEWEST_FIRST.compare(job, newest.get(newest.size() - 1)) < 0);
+            if (!insideRing) {
+                return new Feed(newest, total + 1);
+            }
+            List<JobListView> ring = new ArrayList<>(newest.size() + 1);
+            ring.addAll(newest);
+            int pos = Collections.binarySearch(ring, job, NEWEST_FIRST);
+            ring.add(pos < 0 ? -pos - 1 : pos, job);
+            if (ring.size() > capacity) {
+                ring.subList(capacity, ring.size()).clear();
+            }
+            return new Feed(Collections.unmodifiableList(ring), total + 1);
+        }
+    }
+}
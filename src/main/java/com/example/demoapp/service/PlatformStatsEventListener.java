@@ -0,0 +1,169 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.Booking;
+import com.example.demoapp.entity.ChatMessage;
+import com.example.demoapp.entity.Job;
+import com.example.demoapp.entity.PlatformStat;
+import com.example.demoapp.entity.Review;
+import com.example.demoapp.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Feeds {@code platform_stats} from Hibernate's post-insert/update/delete events, so signups, admin user edits,
+ * job and booking status changes, reviews and chat messages are all counted whichever service wrote them.
+ * Bulk JPQL statements and database cascades raise no events; {@link PlatformStatsService#reconcile()} picks
+ * those up.
+ * <p>
+ * Deltas are summed per session and written just before commit, one UPDATE per counter on a single random slot,
+ * in key order. A rollback writes nothing, the counter row locks are held only for the commit itself, and two
+ * transactions never take them in opposite order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformStatsEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE platform_stats SET stat_value = stat_value + ? WHERE stat_key = ? AND slot = ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<SharedSessionContractImplementor, PendingDeltas> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String key = keyOf(event.getEntity());
+        if (key != null) add(event.getSession(), key, 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String key = keyOf(event.getEntity());
+        if (key != null) add(event.getSession(), key, -1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof User) {
+            moved(event, "role", PlatformStatsService.USERS);
+        } else if (entity instanceof Job) {
+            moved(event, "status", PlatformStatsService.JOBS);
+        } else if (entity instanceof Booking) {
+            moved(event, "status", PlatformStatsService.BOOKINGS);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static String keyOf(Object entity) {
+        if (entity instanceof User u) return PlatformStatsService.usersKey(u.getRole());
+        if (entity instanceof Job j) return PlatformStatsService.jobsKey(j.getStatus());
+        if (entity instanceof Booking b) return PlatformStatsService.bookingsKey(b.getStatus());
+        if (entity instanceof Review) return PlatformStatsService.REVIEWS;
+        if (entity instanceof ChatMessage m && m.getCreatedAt() != null) {
+            return PlatformStatsService.chatMessagesKey(m.getCreatedAt());
+        }
+        return null;
+    }
+
+    /** Moves one unit between the {@code prefix + value} counters when {@code property} changed. */
+    private void moved(PostUpdateEvent event, String property, String prefix) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) return;
+        int index = event.getPersister().getEntityMetamodel().getPropertyIndex(property);
+        Object before = oldState[index];
+        Object after = event.getState()[index];
+        if (Objects.equals(before, after)) return;
+        add(event.getSession(), prefix + before, -1);
+        add(event.getSession(), prefix + after, 1);
+    }
+
+    private void add(EventSource session, String key, long delta) {
+        pending.computeIfAbsent(session, s -> {
+            PendingDeltas deltas = new PendingDeltas();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) deltas);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) deltas);
+            return deltas;
+        }).add(key, delta);
+    }
+
+    private final class PendingDeltas implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final Map<String, Long> deltas = new TreeMap<>();
+        private final int slot = ThreadLocalRandom.current().nextInt(PlatformStat.SLOTS);
+
+        void add(String key, long delta) {
+            deltas.merge(key, delta, Long::sum);
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            List<Map.Entry<String, Long>> changes = new ArrayList<>();
+            for (Map.Entry<String, Long> e : deltas.entrySet()) {
+                if (e.getValue() != 0) changes.add(e);
+            }
+            if (changes.isEmpty()) return;
+            session.doWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INCREMENT_SQL)) {
+                    for (Map.Entry<String, Long> e : changes) {
+                        ps.setLong(1, e.getValue());
+                        ps.setString(2, e.getKey());
+                        ps.setInt(3, slot);
+                        ps.addBatch();
+                    }
+                    int[] updated = ps.executeBatch();
+                    for (int i = 0; i < updated.length; i++) {
+                        if (updated[i] == 0) {
+                            log.debug("No platform_stats row for {} slot {}; left to reconcile", changes.get(i).getKey(), slot);
+                        }
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            pending.remove(session);
+        }
+    }
+}
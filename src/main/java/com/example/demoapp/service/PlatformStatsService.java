@@ -0,0 +1,207 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.BookingStatus;
+import com.example.demoapp.entity.JobStatus;
+import com.example.demoapp.entity.PlatformStat;
+import com.example.demoapp.entity.Role;
+import com.example.demoapp.repository.ChatMessageRepository;
+import com.example.demoapp.repository.PlatformStatRepository;
+import com.example.demoapp.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Platform-wide counters behind the admin dashboard, stored in {@code platform_stats} so a dashboard load is one
+ * small grouped query instead of a COUNT over each large table. {@link PlatformStatsEventListener} applies the
+ * deltas as entities are written; this service creates the counter rows and periodically recounts from the
+ * source tables to correct drift (bulk updates, database cascades, SQL run outside the application).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformStatsService {
+
+    static final String USERS = "users.";
+    static final String JOBS = "jobs.";
+    static final String BOOKINGS = "bookings.";
+    static final String REVIEWS = "reviews";
+    static final String CHAT_MESSAGES = "chat_messages.";
+
+    /** UTC days of chat message counters kept, today included. */
+    private static final int CHAT_DAYS_KEPT = 8;
+
+    private final PlatformStatRepository platformStatRepository;
+    private final ReviewRepository reviewRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public static String usersKey(Role role) {
+        return USERS + role;
+    }
+
+    public static String jobsKey(JobStatus status) {
+        return JOBS + status;
+    }
+
+    public static String bookingsKey(BookingStatus status) {
+        return BOOKINGS + status;
+    }
+
+    public static String chatMessagesKey(LocalDate utcDay) {
+        return CHAT_MESSAGES + utcDay;
+    }
+
+    static String chatMessagesKey(Instant createdAt) {
+        return chatMessagesKey(LocalDate.ofInstant(createdAt, ZoneOffset.UTC));
+    }
+
+    @Transactional(readOnly = true)
+    public Snapshot snapshot() {
+        Map<String, Long> values = new HashMap<>();
+        for (Object[] row : platformStatRepository.sumByKey()) {
+            values.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return new Snapshot(values);
+    }
+
+    /** Creates missing counter rows, then recounts every counter and resets the ones that drifted. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.platform-stats.reconcile-cron:0 15 4 * * *}")
+    public void reconcile() {
+        provision();
+        Integer fixed = transactionTemplate.execute(status -> recount());
+        if (fixed != null && fixed > 0) {
+            log.warn("Platform stats reconcile corrected {} counters", fixed);
+        }
+    }
+
+    /**
+     * Makes sure every counter, including tomorrow's chat message day, has all its slots. Writers never insert
+     * (an increment on a missing row is dropped), so this has to run ahead of midnight UTC.
+     */
+    @Scheduled(cron = "${app.platform-stats.provision-cron:0 50 * * * *}")
+    public void provision() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Set<String> keys = new HashSet<>(expectedCounts(today).keySet());
+        keys.add(chatMessagesKey(today.plusDays(1)));
+
+        Set<PlatformStat.Key> existing = new HashSet<>();
+        for (PlatformStat s : platformStatRepository.findByStatKeyIn(keys)) {
+            existing.add(new PlatformStat.Key(s.getStatKey(), s.getSlot()));
+        }
+        List<PlatformStat> missing = new ArrayList<>();
+        for (String key : keys) {
+            for (int slot = 0; slot < PlatformStat.SLOTS; slot++) {
+                if (!existing.contains(new PlatformStat.Key(key, slot))) {
+                    missing.add(PlatformStat.builder().statKey(key).slot(slot).build());
+                }
+            }
+        }
+        if (missing.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> platformStatRepository.saveAll(missing));
+        } catch (DataIntegrityViolationException e) {
+            // another instance provisioned the same rows; the next run sees them
+            log.info("Platform stats rows created concurrently: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private int recount() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Map<String, Long> actual = expectedCounts(today);
+        putCounts(actual, USERS, platformStatRepository.countUsersByRole());
+        putCounts(actual, JOBS, platformStatRepository.countJobsByStatus());
+        putCounts(actual, BOOKINGS, platformStatRepository.countBookingsByStatus());
+        actual.put(REVIEWS, reviewRepository.count());
+        for (int i = 0; i < CHAT_DAYS_KEPT; i++) {
+            LocalDate day = today.minusDays(i);
+            actual.put(chatMessagesKey(day), chatMessageRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+                    day.atStartOfDay(ZoneOffset.UTC).toInstant(), day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+
+        Snapshot current = snapshot();
+        int fixed = 0;
+        for (Map.Entry<String, Long> e : actual.entrySet()) {
+            if (current.get(e.getKey()) != e.getValue()) {
+                platformStatRepository.reset(e.getKey(), e.getValue());
+                fixed++;
+            }
+        }
+        platformStatRepository.deleteDayKeysBefore(CHAT_MESSAGES, chatMessagesKey(today.minusDays(CHAT_DAYS_KEPT - 1)));
+        return fixed;
+    }
+
+    /** Every counter the dashboard reads, at zero. */
+    private static Map<String, Long> expectedCounts(LocalDate today) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Role role : Role.values()) counts.put(usersKey(role), 0L);
+        for (JobStatus status : JobStatus.values()) counts.put(jobsKey(status), 0L);
+        for (BookingStatus status : BookingStatus.values()) counts.put(bookingsKey(status), 0L);
+        counts.put(REVIEWS, 0L);
+        for (int i = 0; i < CHAT_DAYS_KEPT; i++) counts.put(chatMessagesKey(today.minusDays(i)), 0L);
+        return counts;
+    }
+
+    private static void putCounts(Map<String, Long> into, String prefix, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null) into.put(prefix + row[0], ((Number) row[1]).longValue());
+        }
+    }
+
+    /** Counter values as of one read; absent counters read as zero. */
+    @RequiredArgsConstructor
+    public static class Snapshot {
+
+        private final Map<String, Long> values;
+
+        public long get(String key) {
+            return values.getOrDefault(key, 0L);
+        }
+
+        public long total(String prefix) {
+            long sum = 0;
+            for (Map.Entry<String, Long> e : values.entrySet()) {
+                if (e.getKey().startsWith(prefix)) sum += e.getValue();
+            }
+            return sum;
+        }
+
+        public long totalUsers() {
+            return total(USERS);
+        }
+
+        public long totalJobs() {
+            return total(JOBS);
+        }
+
+        public long totalBookings() {
+            return total(BOOKINGS);
+        }
+
+        /** Chat messages over the last {@code days} UTC calendar days, today included. */
+        public long chatMessagesLastDays(int days) {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            long sum = 0;
+            for (int i = 0; i < days; i++) sum += get(chatMessagesKey(today.minusDays(i)));
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.PushOutboxMessage;
+import com.example.demoapp.entity.PushOutboxStatus;
+import com.example.demoapp.entity.UserNotificationPreferences;
+import com.example.demoapp.event.PushQueuedEvent;
+import com.example.demoapp.repository.PushOutboxRepository;
+import com.example.demoapp.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code push_outbox} on a single background thread: claims up to 500 due rows, resolves tokens and
+ * preferences with one query each, sends them in one {@link PushGateway#sendEach} call, then records the
+ * outcome. Transient failures are retried with exponential backoff; unregistered tokens are cleared from
+ * the user so they are not tried again.
+ * <p>
+ * A drain is requested after every transaction that enqueued pushes and by a periodic sweep, which also
+ * re-queues rows left in SENDING by a crashed instance and purges old finished rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PushDispatchService {
+
+    private static final List<PushOutboxStatus> FINISHED =
+            List.of(PushOutboxStatus.SENT, PushOutboxStatus.SKIPPED, PushOutboxStatus.FAILED);
+
+    private final PushOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final NotificationPushPreferenceService preferenceService;
+    private final PushGateway gateway;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.push.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.push.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${app.push.max-backoff-ms:900000}")
+    private long maxBackoffMs;
+
+    @Value("${app.push.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.push.retention-days:7}")
+    private int retentionDays;
+
+    /** One worker; at most one drain queued behind the running one (requests coalesce via {@link #drainQueued}). */
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(2), r -> {
+                Thread t = new Thread(r, "push-dispatch");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPushQueued(PushQueuedEvent event) {
+        requestDrain();
+    }
+
+    @Scheduled(fixedDelayString = "${app.push.sweep-interval-ms:30000}",
+            initialDelayString = "${app.push.sweep-interval-ms:30000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int released = outboxRepository.releaseExpiredLeases(now);
+                int purged = outboxRepository.deleteFinishedBefore(FINISHED, now.minus(Duration.ofDays(retentionDays)));
+                if (released > 0 || purged > 0) {
+                    log.info("Push outbox sweep: {} expired leases re-queued, {} finished rows purged", released, purged);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Push outbox sweep failed: {}", e.getMessage());
+        }
+        requestDrain();
+    }
+
+    void requestDrain() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+            log.warn("Push drain not scheduled: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        try {
+            while (drainBatch() == PushGateway.MAX_BATCH_SIZE) {
+                // full batch: there may be more due rows
+            }
+        } catch (Exception e) {
+            log.warn("Push outbox drain failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** @return number of rows claimed (sent or skipped) */
+    private int drainBatch() {
+        Batch batch = transactionTemplate.execute(status -> claim(Instant.now()));
+        if (batch == null || batch.getToSend().isEmpty()) {
+            return batch != null ? batch.getClaimed() : 0;
+        }
+        List<PushGateway.Envelope> envelopes = batch.getToSend().stream().map(Claimed::getEnvelope).collect(Collectors.toList());
+        List<PushGateway.Result> results;
+        try {
+            results = gateway.sendEach(envelopes);
+        } catch (RuntimeException e) {
+            log.warn("Push gateway error for {} messages: {}", envelopes.size(), e.getMessage());
+            results = List.of();
+        }
+        List<PushGateway.Result> outcomes = results;
+        transactionTemplate.executeWithoutResult(status -> complete(batch.getToSend(), outcomes, Instant.now()));
+        return batch.getClaimed();
+    }
+
+    private Batch claim(Instant now) {
+        List<PushOutboxMessage> due = outboxRepository.findDueForUpdate(
+                PushOutboxStatus.PENDING, now, PageRequest.of(0, PushGateway.MAX_BATCH_SIZE));
+        if (due.isEmpty()) {
+            return new Batch(0, List.of());
+        }
+        boolean available = gateway.isAvailable();
+        Set<Long> userIds = due.stream().map(o -> o.getUser().getId()).collect(Collectors.toSet());
+        Map<Long, String> tokens = available
+                ? userRepository.findFcmTokens(userIds).stream()
+                        .filter(t -> !t.getFcmToken().isBlank())
+                        .collect(Collectors.toMap(UserRepository.FcmTokenView::getId, t -> t.getFcmToken().trim()))
+                : Map.of();
+        Map<Long, UserNotificationPreferences> preferences = available ? preferenceService.findPreferences(userIds) : Map.of();
+
+        List<Claimed> toSend = new ArrayList<>();
+        int skipped = 0;
+        for (PushOutboxMessage o : due) {
+            Long userId = o.getUser().getId();
+            String token = tokens.get(userId);
+            String skipReason = !available ? "Firebase not initialized"
+                    : !preferenceService.isPushAllowed(preferences.get(userId), o.getType()) ? "muted by notification preferences"
+                    : token == null ? "no FCM token"
+                    : null;
+            if (skipReason != null) {
+                o.setStatus(PushOutboxStatus.SKIPPED);
+                o.setLastError(skipReason);
+                skipped++;
+                log.debug("Push {} for user {} skipped: {}", o.getId(), userId, skipReason);
+                continue;
+            }
+            o.setStatus(PushOutboxStatus.SENDING);
+            o.setNextAttemptAt(now.plusMillis(leaseMs));
+            toSend.add(new Claimed(o.getId(), new PushGateway.Envelope(token, o.getTitle(), o.getBody())));
+        }
+        if (skipped > 0) {
+            log.info("Push outbox: {} of {} claimed messages skipped (no Firebase, no token, or muted)", skipped, due.size());
+        }
+        return new Batch(due.size(), toSend);
+    }
+
+    private void complete(List<Claimed> sent, List<PushGateway.Result> results, Instant now) {
+        Map<Long, PushOutboxMessage> rows = outboxRepository.findAllById(sent.stream().map(Claimed::getOutboxId).toList())
+                .stream().collect(Collectors.toMap(PushOutboxMessage::getId, Function.identity()));
+        Set<String> invalidTokens = new HashSet<>();
+        int retried = 0;
+        for (int i = 0; i < sent.size(); i++) {
+            Claimed c = sent.get(i);
+            PushOutboxMessage row = rows.get(c.getOutboxId());
+            if (row == null) {
+                continue;
+            }
+            PushGateway.Result r = i < results.size() ? results.get(i)
+                    : PushGateway.Result.failed(PushGateway.Outcome.RETRY, "no result from push gateway");
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLastError(truncate(r.getError()));
+            switch (r.getOutcome()) {
+                case SENT -> {
+                    row.setStatus(PushOutboxStatus.SENT);
+                    row.setSentAt(now);
+                }
+                case INVALID_TOKEN -> {
+                    row.setStatus(PushOutboxStatus.FAILED);
+                    invalidTokens.add(c.getEnvelope().getToken());
+                }
+                case RETRY -> {
+                    if (row.getAttempts() >= maxAttempts) {
+                        row.setStatus(PushOutboxStatus.FAILED);
+                    } else {
+                        row.setStatus(PushOutboxStatus.PENDING);
+                        row.setNextAttemptAt(now.plusMillis(backoffMs(row.getAttempts())));
+                        retried++;
+                    }
+                }
+                case FAILED -> row.setStatus(PushOutboxStatus.FAILED);
+            }
+        }
+        if (!invalidTokens.isEmpty()) {
+            int cleared = userRepository.clearFcmTokens(invalidTokens);
+            log.info("FCM reported {} invalid tokens; cleared from {} users", invalidTokens.size(), cleared);
+        }
+        if (retried > 0) {
+            log.info("Push outbox: {} messages scheduled for retry", retried);
+        }
+    }
+
+    /** Exponential backoff with up to 20% jitter so retried batches from several instances spread out. */
+    private long backoffMs(int attempts) {
+        long base = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        return base + ThreadLocalRandom.current().nextLong(base / 5 + 1);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 500 ? error : error.substring(0, 500);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Batch {
+        private final int claimed;
+        private final List<Claimed> toSend;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Claimed {
+        private final Long outboxId;
+        private final PushGateway.Envelope envelope;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demoapp.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Transport used by {@link PushDispatchService}. {@link FirebasePushGateway} talks to FCM;
+ * {@link LoggingPushGateway} ({@code app.push.gateway=log}) stands in for it offline.
+ */
+public interface PushGateway {
+
+    /** FCM accepts at most 500 messages per sendEach call. */
+    int MAX_BATCH_SIZE = 500;
+
+    /** False when the transport is not configured (e.g. no Firebase credentials); messages are then skipped. */
+    boolean isAvailable();
+
+    /**
+     * Sends up to {@link #MAX_BATCH_SIZE} messages and returns one result per message, in the same order.
+     * Transport-level failures are reported as {@link Outcome#RETRY} results rather than thrown.
+     */
+    List<Result> sendEach(List<Envelope> messages);
+
+    enum Outcome {
+        SENT,
+        /** The device token is unregistered or belongs to another sender and should be removed from the user. */
+        INVALID_TOKEN,
+        /** Transient (unavailable, quota, internal); worth another attempt after a backoff. */
+        RETRY,
+        FAILED
+    }
+
+    @Getter
+    @AllArgsConstructor
+    class Envelope {
+        private final String token;
+        private final String title;
+        private final String body;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    class Result {
+        private final Outcome outcome;
+        private final String messageId;
+        private final String error;
+
+        public static Result sent(String messageId) {
+            return new Result(Outcome.SENT, messageId, null);
+        }
+
+        public static Result failed(Outcome outcome, String error) {
+            return new Result(outcome, null, error);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.demoapp.service;
 
+import com.example.demoapp.entity.PushOutboxMessage;
+import com.example.demoapp.entity.PushOutboxStatus;
 import com.example.demoapp.entity.User;
+import com.example.demoapp.event.PushQueuedEvent;
+import com.example.demoapp.repository.PushOutboxRepository;
 import com.example.demoapp.repository.UserRepository;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.messaging.FirebaseMessaging;
@@ -9,11 +13,18 @@ import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.Notification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 /**
- * Sends FCM push notifications to the user's device.
- * No-op if Firebase is not initialized or user has no fcmToken.
+ * Queues FCM push notifications for users (see {@link PushDispatchService}) and sends ad-hoc test pushes.
+ * Queued pushes are skipped if Firebase is not initialized or the user has no fcmToken.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,46 +32,48 @@ import org.springframework.stereotype.Service;
 public class PushNotificationService {
 
     private final UserRepository userRepository;
-    private final NotificationPushPreferenceService notificationPushPreferenceService;
+    private final PushOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
-     * Send a push notification to the user's device(s). Called after saving an in-app notification.
-     * If Firebase is not configured or user has no FCM token, this does nothing.
+     * Queue a push notification for the user's device. Called right after saving an in-app notification, in the
+     * same transaction; {@link PushDispatchService} delivers it after commit, so a rolled-back notification is
+     * never pushed and the caller does not wait on FCM. Preferences and token are checked at send time.
      *
      * @param notificationType same string as in-app notification type (e.g. CHAT_MESSAGE); used for preference flags
      */
-    public void sendToUser(Long userId, String title, String body, String notificationType) {
+    @Transactional
+    public void enqueue(Long userId, String title, String body, String notificationType) {
         if (userId == null || (title == null && body == null)) return;
-        if (!notificationPushPreferenceService.isPushAllowed(userId, notificationType)) {
-            log.debug("FCM push skipped for user {} due to notification preferences (type={})", userId, notificationType);
-            return;
-        }
-        if (FirebaseApp.getApps().isEmpty()) {
-            log.info("FCM push skipped for user {}: Firebase not initialized (set APP_FIREBASE_SERVICE_ACCOUNT_JSON on server)", userId);
-            return;
-        }
-
-        String token = userRepository.findById(userId)
-                .map(u -> u.getFcmToken())
-                .orElse(null);
-        if (token == null || token.isBlank()) {
-            log.info("FCM push skipped for user {}: no FCM token (app must call POST /api/users/me/fcm-token after login)", userId);
-            return;
-        }
+        outboxRepository.save(PushOutboxMessage.builder()
+                .user(userRepository.getReferenceById(userId))
+                .type(notificationType != null ? notificationType : "GENERAL")
+                .title(title)
+                .body(body)
+                .build());
+        eventPublisher.publishEvent(PushQueuedEvent.INSTANCE);
+    }
 
-        try {
-            Message message = Message.builder()
-                    .setToken(token)
-                    .setNotification(Notification.builder()
-                            .setTitle(title != null ? title : "")
-                            .setBody(body != null ? body : "")
-                            .build())
-                    .build();
-            String msgId = FirebaseMessaging.getInstance().send(message);
-            log.info("FCM push sent to user {}: messageId={}", userId, msgId);
-        } catch (FirebaseMessagingException e) {
-            log.warn("FCM push failed for user {}: {} (token may be invalid or expired; app should send token again)", userId, e.getMessage());
-        }
+    /** Batched form of {@link #enqueue} used by {@code NotificationService.createBulk}; one outbox insert batch, one drain. */
+    @Transactional
+    public void enqueueBulk(List<Long> userIds, String title, String body, String notificationType) {
+        if (userIds.isEmpty() || (title == null && body == null)) return;
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        String type = notificationType != null ? notificationType : "GENERAL";
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO push_outbox (user_id, type, title, body, status, attempts, next_attempt_at, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, 0, ?, ?)",
+                userIds, NotificationService.BULK_BATCH_SIZE, (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setString(2, type);
+                    ps.setString(3, title);
+                    ps.setString(4, body);
+                    ps.setString(5, PushOutboxStatus.PENDING.name());
+                    ps.setObject(6, now);
+                    ps.setObject(7, now);
+                });
+        eventPublisher.publishEvent(PushQueuedEvent.INSTANCE);
     }
 
     /** For debugging: is Firebase initialized (can we send FCM)? */
@@ -26,6 +26,7 @@ public class ReviewService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final MahirRatingService mahirRatingService;
 
     @Transactional
     public ReviewResponse create(Long userId, CreateReviewRequest request) {
@@ -53,6 +54,7 @@ public class ReviewService {
                 .comment(request.getComment())
                 .build();
         review = reviewRepository.save(review);
+        mahirRatingService.recordChange(booking.getMahir().getId(), null, review.getRating());
         notificationService.create(booking.getMahir().getId(), "NEW_REVIEW", "New review",
                 "You received a new review. Tap to view.", booking.getId());
         return toResponse(review);
@@ -7,14 +7,16 @@ import com.example.demoapp.dto.UserRequest;
 import com.example.demoapp.dto.CategoryResponse;
 import com.example.demoapp.dto.UserResponse;
 import com.example.demoapp.entity.Location;
+import com.example.demoapp.entity.MahirRatingStats;
 import com.example.demoapp.entity.User;
+import com.example.demoapp.event.MahirProfileChangedEvent;
 import com.example.demoapp.exception.DuplicateResourceException;
 import com.example.demoapp.exception.ResourceNotFoundException;
 import com.example.demoapp.exception.UnauthorizedException;
 import com.example.demoapp.repository.CategoryRepository;
-import com.example.demoapp.repository.ReviewRepository;
 import com.example.demoapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,8 +33,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final ReviewRepository reviewRepository;
+    private final MahirRatingService mahirRatingService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserResponse createUser(UserRequest request) {
@@ -108,6 +111,7 @@ public class UserService {
             user.setBio(request.getBio());
         }
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(user.getId()));
         return mapToResponse(user);
     }
 
@@ -143,8 +147,7 @@ public class UserService {
         java.util.List<CategoryResponse> categories = user.getServiceCategories() == null ? List.of() : user.getServiceCategories().stream()
                 .map(c -> CategoryResponse.builder().id(c.getId()).name(c.getName()).description(c.getDescription()).build())
                 .collect(Collectors.toList());
-        Double avgRating = user.getRole() == com.example.demoapp.entity.Role.MAHIR ? reviewRepository.getAverageRatingByMahirId(user.getId()) : null;
-        long reviewCount = user.getRole() == com.example.demoapp.entity.Role.MAHIR ? reviewRepository.countPublicByMahirId(user.getId()) : 0L;
+        MahirRatingStats ratingStats = user.getRole() == com.example.demoapp.entity.Role.MAHIR ? mahirRatingService.getStats(user.getId()) : null;
         return PublicProfileResponse.builder()
                 .id(user.getId())
                 .role(user.getRole())
@@ -155,8 +158,8 @@ public class UserService {
                 .accountType(user.getAccountType())
                 .serviceCategories(categories)
                 .customServiceName(user.getCustomServiceName())
-                .averageRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : null)
-                .reviewCount(reviewCount)
+                .averageRating(ratingStats != null ? ratingStats.getAverageRating() : null)
+                .reviewCount(ratingStats != null ? ratingStats.getRatingCount() : 0L)
                 .createdAt(user.getCreatedAt())
                 .build();
     }
@@ -177,6 +180,7 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(user.getId()));
         return mapToResponse(user);
     }
 
@@ -189,6 +193,7 @@ public class UserService {
             throw new ResourceNotFoundException("User", id);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(id));
     }
 
     private UserResponse mapToResponse(User user) {
@@ -4,6 +4,7 @@ import com.example.demoapp.dto.*;
 import com.example.demoapp.entity.AccountStatus;
 import com.example.demoapp.entity.User;
 import com.example.demoapp.entity.UserNotificationPreferences;
+import com.example.demoapp.event.MahirProfileChangedEvent;
 import com.example.demoapp.exception.BadRequestException;
 import com.example.demoapp.exception.PayloadTooLargeException;
 import com.example.demoapp.exception.UnsupportedMediaTypeAppException;
@@ -13,6 +14,7 @@ import com.example.demoapp.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +39,7 @@ public class UserSettingsService {
     private final UserRepository userRepository;
     private final UserNotificationPreferencesRepository preferencesRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.public-base-url:http://localhost:8080}")
     private String publicBaseUrl;
@@ -204,5 +207,6 @@ public class UserSettingsService {
         deleteAvatarFiles(userId);
         preferencesRepository.findByUser(user).ifPresent(preferencesRepository::delete);
         userRepository.delete(user);
+        eventPublisher.publishEvent(new MahirProfileChangedEvent(userId));
     }
 }
@@ -1,5 +1,6 @@
--- Run on Railway (PostgreSQL) so tables exist before Hibernate/JPA use them.
--- Only loaded when spring.sql.init.schema-locations points here (railway profile).
+-- Baseline PostgreSQL schema (formerly schema-postgres.sql, run by spring.sql.init on every start).
+-- Kept idempotent (IF NOT EXISTS) so it also applies cleanly to databases created before Flyway;
+-- further changes go in new V<n>__*.sql files, never in this one.
 
 CREATE TABLE IF NOT EXISTS categories (
     id BIGSERIAL PRIMARY KEY,
@@ -215,3 +216,36 @@ CREATE TABLE IF NOT EXISTS banners (
     created_at TIMESTAMP WITH TIME ZONE NOT NULL,
     updated_at TIMESTAMP WITH TIME ZONE NOT NULL
 );
+
+-- Chat inbox: denormalized last message + per-participant unread counters (maintained by ChatService.sendMessage)
+ALTER TABLE chat_threads ADD COLUMN IF NOT EXISTS last_message_at TIMESTAMP;
+ALTER TABLE chat_threads ADD COLUMN IF NOT EXISTS last_message_preview VARCHAR(100);
+ALTER TABLE chat_threads ADD COLUMN IF NOT EXISTS customer_unread_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE chat_threads ADD COLUMN IF NOT EXISTS mahir_unread_count INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill threads that already had messages before the columns existed (no-op once filled)
+UPDATE chat_threads t SET
+    last_message_at = (SELECT MAX(m.created_at) FROM chat_messages m WHERE m.thread_id = t.id),
+    last_message_preview = (SELECT CASE WHEN LENGTH(m.content) > 80 THEN LEFT(m.content, 80) || '...' ELSE m.content END
+                            FROM chat_messages m WHERE m.thread_id = t.id ORDER BY m.id DESC LIMIT 1),
+    customer_unread_count = (SELECT COUNT(*) FROM chat_messages m JOIN bookings b ON b.id = t.booking_id
+                             WHERE m.thread_id = t.id AND m.read_at IS NULL AND m.sender_id <> b.customer_id),
+    mahir_unread_count = (SELECT COUNT(*) FROM chat_messages m JOIN bookings b ON b.id = t.booking_id
+                          WHERE m.thread_id = t.id AND m.read_at IS NULL AND m.sender_id <> b.mahir_id)
+WHERE t.last_message_at IS NULL AND EXISTS (SELECT 1 FROM chat_messages m WHERE m.thread_id = t.id);
+
+-- FCM push outbox: written with the in-app notification, drained after commit by PushDispatchService
+CREATE TABLE IF NOT EXISTS push_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(200),
+    body VARCHAR(1000),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error VARCHAR(500),
+    sent_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_push_outbox_due ON push_outbox (status, next_attempt_at);
@@ -0,0 +1,94 @@
+-- Secondary indexes for the hot repository queries. Each index names the query it serves;
+-- partial predicates mirror constant filters in the JPQL so the planner can match them.
+
+-- Jobs ------------------------------------------------------------------------------------------
+-- JobRepository.findPublicOpenJobs (public feed, no category) and findByStatusOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_jobs_public_feed
+    ON jobs (status, created_at DESC)
+    WHERE hidden_from_public = FALSE AND moderation_blocked = FALSE;
+-- JobRepository.findPublicOpenJobs with categoryId, findByStatusAndCategoryIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_jobs_public_feed_category
+    ON jobs (category_id, status, created_at DESC)
+    WHERE hidden_from_public = FALSE AND moderation_blocked = FALSE;
+-- JobRepository.findByPostedBy[AndStatus]OrderByCreatedAtDesc, countByPostedBy
+CREATE INDEX IF NOT EXISTS idx_jobs_posted_by_created
+    ON jobs (posted_by_id, created_at DESC);
+-- AdminService job list (findAllByOrderByCreatedAtDesc), dashboard counts by status
+CREATE INDEX IF NOT EXISTS idx_jobs_created ON jobs (created_at DESC);
+
+-- Bids ------------------------------------------------------------------------------------------
+-- BidRepository.countByJobId, findByJob[AndStatus]OrderByCreatedAtDesc, findByJob_Id, existsByJobIdAndStatus
+-- (UNIQUE(job_id, mahir_id) already serves findByJobIdAndMahirId / existsByJobIdAndMahirId)
+CREATE INDEX IF NOT EXISTS idx_bids_job_created ON bids (job_id, created_at DESC);
+-- BidRepository.findByMahir[AndStatus]OrderByCreatedAtDesc, countByMahir
+CREATE INDEX IF NOT EXISTS idx_bids_mahir_created ON bids (mahir_id, created_at DESC);
+
+-- Bookings --------------------------------------------------------------------------------------
+-- BookingRepository.findByBid_Id
+CREATE INDEX IF NOT EXISTS idx_bookings_bid ON bookings (bid_id);
+-- BookingRepository.findByJob_Id[AndStatus]
+CREATE INDEX IF NOT EXISTS idx_bookings_job ON bookings (job_id);
+-- BookingRepository.findByCustomer[AndStatus]OrderByCreatedAtDesc, countByCustomer,
+-- findActiveDirectBookingsBetween, and the customer side of ChatThreadRepository.findThreadsForUser
+CREATE INDEX IF NOT EXISTS idx_bookings_customer_created ON bookings (customer_id, created_at DESC);
+-- Mahir side of the same queries
+CREATE INDEX IF NOT EXISTS idx_bookings_mahir_created ON bookings (mahir_id, created_at DESC);
+
+-- Chat ------------------------------------------------------------------------------------------
+-- ChatMessageRepository.findByThreadOrderByCreatedAtDesc and the keyset slices
+-- (findByThreadOrderByCreatedAtDescIdDesc, findSliceBefore, findSliceBeforeTime)
+CREATE INDEX IF NOT EXISTS idx_chat_messages_thread_created
+    ON chat_messages (thread_id, created_at DESC, id DESC);
+-- ChatMessageRepository.countUnreadInThreads / markThreadRead
+CREATE INDEX IF NOT EXISTS idx_chat_messages_thread_unread
+    ON chat_messages (thread_id, sender_id)
+    WHERE read_at IS NULL;
+-- Admin dashboard message counts by day (countByCreatedAtGreaterThanEqualAndCreatedAtLessThan)
+CREATE INDEX IF NOT EXISTS idx_chat_messages_created ON chat_messages (created_at);
+-- ChatThreadRepository.findByBookingId is served by the UNIQUE(booking_id) constraint.
+
+-- Notifications ---------------------------------------------------------------------------------
+-- NotificationRepository.findByUserOrderByCreatedAtDesc and keyset slices
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC, id DESC);
+-- NotificationRepository.countByUserAndReadAtIsNull (unread badge)
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id, read_at)
+    WHERE read_at IS NULL;
+
+-- Reviews ---------------------------------------------------------------------------------------
+-- ReviewRepository.getAverageRatingByMahirId / countPublicByMahirId (index-only: rating is in the key)
+CREATE INDEX IF NOT EXISTS idx_reviews_mahir_public_rating
+    ON reviews (mahir_id, rating)
+    WHERE hidden_from_public = FALSE;
+-- ReviewRepository.findByMahir[AndHiddenFromPublicFalse]OrderByCreatedAtDesc, countByMahir
+CREATE INDEX IF NOT EXISTS idx_reviews_mahir_created ON reviews (mahir_id, created_at DESC);
+-- ReviewRepository.countByReviewer
+CREATE INDEX IF NOT EXISTS idx_reviews_reviewer ON reviews (reviewer_id);
+
+-- Users / categories ----------------------------------------------------------------------------
+-- UserRepository.findActiveMahirsByCategory / findActiveMahirIdsByCategory walk category -> users;
+-- the primary key (user_id, category_id) only serves the opposite direction.
+CREATE INDEX IF NOT EXISTS idx_user_service_categories_category
+    ON user_service_categories (category_id, user_id);
+-- UserRepository.findByRole[AndBlocked], countByRole
+CREATE INDEX IF NOT EXISTS idx_users_role_blocked ON users (role, blocked);
+-- UserRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan (admin engagement)
+CREATE INDEX IF NOT EXISTS idx_users_created ON users (created_at);
+
+-- Memberships / support / tokens ----------------------------------------------------------------
+-- UserMembershipRepository.findByUserAndStatus, findByUserOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_user_memberships_user_status ON user_memberships (user_id, status);
+-- SupportThreadRepository.findByUserOrderByUpdatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_support_threads_user_updated ON support_threads (user_id, updated_at DESC);
+-- SupportMessageRepository.findByThreadOrderByCreatedAtAsc
+CREATE INDEX IF NOT EXISTS idx_support_messages_thread_created ON support_messages (thread_id, created_at);
+-- PasswordResetTokenRepository.deleteByUserId
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user ON password_reset_tokens (user_id);
+
+-- Push outbox: only PENDING rows are ever polled, so keep the index to those
+DROP INDEX IF EXISTS idx_push_outbox_due;
+CREATE INDEX IF NOT EXISTS idx_push_outbox_pending_due
+    ON push_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_push_outbox_created ON push_outbox (created_at);
@@ -0,0 +1,27 @@
+-- Precomputed public rating aggregate per Mahir (maintained by MahirRatingService, rebuilt nightly)
+CREATE TABLE IF NOT EXISTS mahir_rating_stats (
+    mahir_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    stars_1 BIGINT NOT NULL DEFAULT 0,
+    stars_2 BIGINT NOT NULL DEFAULT 0,
+    stars_3 BIGINT NOT NULL DEFAULT 0,
+    stars_4 BIGINT NOT NULL DEFAULT 0,
+    stars_5 BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO mahir_rating_stats (mahir_id, rating_sum, rating_count, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)
+SELECT r.mahir_id,
+       SUM(r.rating),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE r.rating = 1),
+       COUNT(*) FILTER (WHERE r.rating = 2),
+       COUNT(*) FILTER (WHERE r.rating = 3),
+       COUNT(*) FILTER (WHERE r.rating = 4),
+       COUNT(*) FILTER (WHERE r.rating = 5),
+       NOW()
+FROM reviews r
+WHERE r.hidden_from_public = FALSE
+GROUP BY r.mahir_id
+ON CONFLICT (mahir_id) DO NOTHING;
@@ -0,0 +1,12 @@
+-- Nearby search (NearbySearchRepository): geohash cell ranges + lat/lng box. COLLATE "C" keeps BETWEEN on
+-- geohash strings in byte order regardless of the database locale. Existing rows are filled at startup
+-- by GeoHashBackfillRunner.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS geohash VARCHAR(12) COLLATE "C";
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS job_geohash VARCHAR(12) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_users_mahir_geohash
+    ON users (geohash)
+    WHERE role = 'MAHIR' AND blocked = FALSE;
+CREATE INDEX IF NOT EXISTS idx_jobs_public_open_geohash
+    ON jobs (job_geohash)
+    WHERE status = 'OPEN' AND hidden_from_public = FALSE AND moderation_blocked = FALSE;
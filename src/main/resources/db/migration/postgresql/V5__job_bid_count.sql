@@ -0,0 +1,8 @@
+-- Denormalized bid counter read by the job feeds (maintained by JobRepository.adjustBidCount,
+-- repaired nightly by JobBidCountReconciler).
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS bid_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE jobs j
+SET bid_count = c.cnt
+FROM (SELECT job_id, COUNT(*) AS cnt FROM bids GROUP BY job_id) c
+WHERE c.job_id = j.id;
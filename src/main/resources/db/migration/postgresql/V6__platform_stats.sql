@@ -0,0 +1,8 @@
+-- Striped counters read by the admin dashboard (maintained by PlatformStatsEventListener, rows created and
+-- recounted by PlatformStatsService at startup and nightly).
+CREATE TABLE IF NOT EXISTS platform_stats (
+    stat_key VARCHAR(64) NOT NULL,
+    slot INTEGER NOT NULL,
+    stat_value BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_key, slot)
+);
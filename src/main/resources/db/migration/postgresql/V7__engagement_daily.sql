@@ -0,0 +1,8 @@
+-- Per-UTC-day engagement rollup for the admin dashboard (written by EngagementStatsService when
+-- app.engagement-rollup.enabled=true; empty otherwise).
+CREATE TABLE IF NOT EXISTS engagement_daily (
+    stat_day DATE PRIMARY KEY,
+    chat_messages BIGINT NOT NULL DEFAULT 0,
+    new_registrations BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Indexed admin user search (UserRepository.searchIdsByTrigram / searchIdsByPrefix, app.admin-user-search.trigram).
+-- Trigram GIN indexes answer substring LIKE and fuzzy word matches (<%) for queries of 3+ characters;
+-- text_pattern_ops indexes answer the 1-2 character prefix queries.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm ON users USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_trgm ON users USING gin (phone_number gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_full_name_prefix ON users (lower(full_name) text_pattern_ops);
@@ -0,0 +1,12 @@
+-- Keyword search on the open-jobs feed (GET /api/jobs?q=, JobSearchRepository.searchFullText).
+-- 'simple' config: lowercased words without stemming, since titles mix English, French, Arabic and Urdu.
+-- The column is computed by Postgres on every insert/update, so no application code maintains it.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_public_open_search
+    ON jobs USING gin (search_vector)
+    WHERE status = 'OPEN' AND hidden_from_public = FALSE AND moderation_blocked = FALSE;
@@ -0,0 +1,353 @@
+package com.example.demoapp.repository;
+
+import com.example.demoapp.geo.GeoArea;
+import com.example.demoapp.geo.GeoHash;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the indexes in {@code db/migration/postgresql} behind the queries below (V2 hot paths, V4 geohash,
+ * V8 trigram, V9 full-text): applies the Flyway set to a real Postgres, seeds enough rows that a sequential
+ * scan is never the cheap option, and checks the {@code EXPLAIN (FORMAT JSON)} plan of each query.
+ * <p>
+ * The SQL is written by hand after the named repository method, not captured from Hibernate, so keep the two in
+ * step when a query changes. Values are inlined, which is how Postgres plans pgjdbc's first executions; the
+ * public feed is also explained as a generic plan ({@code GENERIC_PLAN}, Postgres 16) with Hibernate's
+ * placeholders, which is what a cached prepared statement may run. Native queries reuse the repository's SQL
+ * constants where it has them.
+ * <p>
+ * Needs Docker; skipped when no daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotQueryPlanTest {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int MAHIRS = 1_000;
+    private static final int CATEGORIES = 17;
+    private static final int JOBS = 20_000;
+    private static final int BIDS_PER_JOB = 3;
+    private static final int MESSAGES = 200_000;
+    private static final int NOTIFICATIONS = 100_000;
+    /** Extra Mahirs with coordinates, for the nearby and admin search plans. */
+    private static final int DIRECTORY_MAHIRS = 30_000;
+    /** Jobs and directory Mahirs are spread over a grid of about 10 x 10 degrees from this corner. */
+    private static final double GRID_LAT = 20;
+    private static final double GRID_LNG = 60;
+
+    /** Tables that grow with usage; a seq scan on any of them is a regression. */
+    private static final Set<String> LARGE_TABLES =
+            Set.of("jobs", "bids", "bookings", "chat_threads", "chat_messages", "notifications", "reviews");
+
+    /** Same major version as docker-compose.yml. */
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+
+        jdbc.update("INSERT INTO categories (name) SELECT 'Category ' || g FROM generate_series(1, ?) g", CATEGORIES);
+        // ids 1..CUSTOMERS are customers, the rest Mahirs
+        jdbc.update("INSERT INTO users (full_name, email, password, role, created_at) "
+                + "SELECT 'User ' || g, 'user' || g || '@plan.test', 'x', CASE WHEN g <= ? THEN 'USER' ELSE 'MAHIR' END, "
+                + "now() - g * interval '1 hour' FROM generate_series(1, ?) g", CUSTOMERS, CUSTOMERS + MAHIRS);
+        jdbc.update("INSERT INTO user_service_categories (user_id, category_id) "
+                + "SELECT g, 1 + g % ? FROM generate_series(?, ?) g", CATEGORIES, CUSTOMERS + 1, CUSTOMERS + MAHIRS);
+        jdbc.update("INSERT INTO jobs (posted_by_id, category_id, title, description, status, created_at, updated_at) "
+                + "SELECT 1 + g % ?, 1 + g % ?, 'Job ' || g, 'Fix the sink in flat ' || g, "
+                + "(ARRAY['OPEN', 'ASSIGNED', 'COMPLETED', 'CANCELLED'])[1 + g % 4], "
+                + "now() - g * interval '1 minute', now() - g * interval '1 minute' FROM generate_series(1, ?) g",
+                CUSTOMERS, CATEGORIES, JOBS);
+        jdbc.update("INSERT INTO bids (job_id, mahir_id, proposed_price, status, created_at) "
+                + "SELECT j, ? + (j * ? + k) % ?, 100, 'PENDING', now() - j * interval '1 minute' "
+                + "FROM generate_series(1, ?) j, generate_series(0, ?) k",
+                CUSTOMERS + 1, BIDS_PER_JOB, MAHIRS, JOBS, BIDS_PER_JOB - 1);
+        // one booking, chat thread and review per job
+        jdbc.update("INSERT INTO bookings (customer_id, mahir_id, job_id, bid_id, agreed_price, status, created_at, updated_at) "
+                + "SELECT 1 + g % ?, ? + g % ?, g, g * ?, 100, 'COMPLETED', "
+                + "now() - g * interval '1 minute', now() - g * interval '1 minute' FROM generate_series(1, ?) g",
+                CUSTOMERS, CUSTOMERS + 1, MAHIRS, BIDS_PER_JOB, JOBS);
+        jdbc.update("INSERT INTO chat_threads (booking_id, created_at, last_message_at) "
+                + "SELECT g, now() - g * interval '1 minute', now() - g * interval '1 second' FROM generate_series(1, ?) g", JOBS);
+        jdbc.update("INSERT INTO reviews (booking_id, reviewer_id, mahir_id, rating, hidden_from_public, created_at) "
+                + "SELECT g, 1 + g % ?, ? + g % ?, 1 + g % 5, g % 50 = 0, now() - g * interval '1 minute' "
+                + "FROM generate_series(1, ?) g", CUSTOMERS, CUSTOMERS + 1, MAHIRS, JOBS);
+        jdbc.update("INSERT INTO chat_messages (thread_id, sender_id, content, created_at, read_at) "
+                + "SELECT 1 + g % ?, 1 + g % ?, 'Message ' || g, now() - g * interval '1 second', "
+                + "CASE WHEN g % 10 = 0 THEN NULL ELSE now() END FROM generate_series(1, ?) g",
+                JOBS, CUSTOMERS, MESSAGES);
+        jdbc.update("INSERT INTO notifications (user_id, type, title, body, related_id, created_at, read_at) "
+                + "SELECT 1 + g % ?, 'NEW_JOB', 'New job', 'A new job', g, now() - g * interval '1 second', "
+                + "CASE WHEN g % 3 = 0 THEN NULL ELSE now() END FROM generate_series(1, ?) g",
+                CUSTOMERS + MAHIRS, NOTIFICATIONS);
+        jdbc.update("INSERT INTO users (full_name, email, password, role, latitude, longitude, created_at) "
+                + "SELECT 'Mahir ' || g, 'user' || g || '@plan.test', 'x', 'MAHIR', "
+                + "? + (g % 100) * 0.1, ? + (g / 100) * 0.03, now() - g * interval '1 minute' "
+                + "FROM generate_series(?, ?) g",
+                GRID_LAT, GRID_LNG, CUSTOMERS + MAHIRS + 1, CUSTOMERS + MAHIRS + DIRECTORY_MAHIRS);
+        jdbc.update("UPDATE jobs SET job_latitude = ? + (id % 100) * 0.1, job_longitude = ? + (id / 100) * 0.05",
+                GRID_LAT, GRID_LNG);
+        fillGeohash("users", "latitude", "longitude", "geohash");
+        fillGeohash("jobs", "job_latitude", "job_longitude", "job_geohash");
+        jdbc.execute("ANALYZE");
+    }
+
+    /** JobRepository.findPublicOpenJobViews, first page without a category. */
+    @Test
+    void publicOpenJobFeed() {
+        assertNoSeqScanOnLargeTables(publicFeed("'OPEN'", "CAST(NULL AS BIGINT)", "CAST(NULL AS BIGINT)", "20"));
+    }
+
+    /** JobRepository.findPublicOpenJobViews, first page of one category. */
+    @Test
+    void publicOpenJobFeedByCategory() {
+        assertNoSeqScanOnLargeTables(publicFeed("'OPEN'", "3", "3", "20"));
+    }
+
+    /** JobRepository.findPublicOpenJobViews as a generic plan: the optional category is a parameter, not a constant. */
+    @Test
+    void publicOpenJobFeedGenericPlan() {
+        assertNoSeqScanOnLargeTables("GENERIC_PLAN, ",
+                publicFeed("CAST($1 AS VARCHAR)", "CAST($2 AS BIGINT)", "CAST($3 AS BIGINT)", "$4"));
+    }
+
+    /** NearbySearchRepository.findPublicOpenJobsNear: the geohash cell ranges select the rows (V4). */
+    @Test
+    void publicOpenJobsNear() {
+        GeoArea area = GeoArea.fromRequest(GRID_LAT + 5, GRID_LNG + 5, GeoArea.DEFAULT_RADIUS_KM);
+        String sql = "SELECT j.* FROM jobs j JOIN users p ON p.id = j.posted_by_id "
+                + "LEFT JOIN categories c ON c.id = j.category_id "
+                + "WHERE j.status = 'OPEN' AND p.blocked = false AND j.hidden_from_public = false "
+                + "AND j.moderation_blocked = false AND " + nearby(area, "j.job_latitude", "j.job_longitude", "j.job_geohash")
+                + " ORDER BY " + distance(area, "j.job_latitude", "j.job_longitude") + ", j.id FETCH FIRST 20 ROWS ONLY";
+        assertNoSeqScanOnLargeTables(sql);
+        assertUsesIndex(sql, "idx_jobs_public_open_geohash");
+    }
+
+    /** NearbySearchRepository.findActiveMahirsNear without a category (V4). */
+    @Test
+    void mahirsNear() {
+        GeoArea area = GeoArea.fromRequest(GRID_LAT + 5, GRID_LNG + 5, GeoArea.DEFAULT_RADIUS_KM);
+        assertUsesIndex("SELECT u.* FROM users u WHERE u.role = 'MAHIR' AND u.blocked = false AND "
+                + nearby(area, "u.latitude", "u.longitude", "u.geohash")
+                + " ORDER BY " + distance(area, "u.latitude", "u.longitude") + ", u.id FETCH FIRST 20 ROWS ONLY",
+                "idx_users_mahir_geohash");
+    }
+
+    /** UserRepository.searchIdsByTrigram, admin search for an email fragment (V8). */
+    @Test
+    void adminUserSearchByTrigram() {
+        String sql = "SELECT u.id " + UserRepository.TRIGRAM_USER_MATCH
+                .replace(":phoneContains", "'%1234%'")
+                .replace(":contains", "'%user1234%'")
+                .replace(":q", "'user1234'")
+                .replace(":role", "'MAHIR'")
+                .replace(":blocked", "NULL")
+                + "LIMIT 20";
+        assertUsesIndex(sql, "idx_users_email_trgm");
+    }
+
+    /**
+     * JobSearchRepository.searchFullText candidates (V9): a rare word is found through the GIN index, a word in
+     * every description may walk the feed index instead, but neither reads the whole table.
+     */
+    @Test
+    void keywordSearch() {
+        assertUsesIndex(fullTextCandidates("12344:*"), "idx_jobs_public_open_search");
+        assertNoSeqScanOnLargeTables(fullTextCandidates("sink:*"));
+    }
+
+    /** ChatThreadRepository.findThreadSummariesForUser (chat inbox), for a customer and for a Mahir. */
+    @Test
+    void chatThreadInbox() {
+        for (long userId : new long[] { 7, CUSTOMERS + 7 }) {
+            assertNoSeqScanOnLargeTables("SELECT t.*, b.*, cu.*, m.* FROM chat_threads t "
+                    + "JOIN bookings b ON b.id = t.booking_id JOIN users cu ON cu.id = b.customer_id "
+                    + "JOIN users m ON m.id = b.mahir_id "
+                    + "WHERE b.customer_id = " + userId + " OR b.mahir_id = " + userId + " ORDER BY t.created_at DESC");
+        }
+    }
+
+    /** ChatThreadRepository.findThreadsForUser. */
+    @Test
+    void threadsForUser() {
+        assertNoSeqScanOnLargeTables("SELECT t.* FROM chat_threads t JOIN bookings b ON b.id = t.booking_id "
+                + "WHERE b.customer_id = 7 OR b.mahir_id = 7 ORDER BY t.created_at DESC");
+    }
+
+    /** NotificationRepository.findSliceForUser and findSliceForUserBefore (notification inbox). */
+    @Test
+    void notificationInbox() {
+        assertNoSeqScanOnLargeTables("SELECT n.* FROM notifications n WHERE n.user_id = 42 "
+                + "ORDER BY n.created_at DESC, n.id DESC FETCH FIRST 21 ROWS ONLY");
+        assertNoSeqScanOnLargeTables("SELECT n.* FROM notifications n WHERE n.user_id = 42 "
+                + "AND n.created_at <= now() - interval '1 day' AND (n.created_at < now() - interval '1 day' "
+                + "OR (n.created_at = now() - interval '1 day' AND n.id < 50000)) "
+                + "ORDER BY n.created_at DESC, n.id DESC FETCH FIRST 21 ROWS ONLY");
+    }
+
+    /** ChatMessageRepository.findByThreadOrderByCreatedAtDescIdDesc and findSliceBefore (one thread's messages). */
+    @Test
+    void chatMessagesOfThread() {
+        assertNoSeqScanOnLargeTables("SELECT m.* FROM chat_messages m WHERE m.thread_id = 42 "
+                + "ORDER BY m.created_at DESC, m.id DESC FETCH FIRST 31 ROWS ONLY");
+        assertNoSeqScanOnLargeTables("SELECT m.* FROM chat_messages m WHERE m.thread_id = 42 "
+                + "AND m.created_at <= now() - interval '1 day' AND (m.created_at < now() - interval '1 day' "
+                + "OR (m.created_at = now() - interval '1 day' AND m.id < 100000)) "
+                + "ORDER BY m.created_at DESC, m.id DESC FETCH FIRST 31 ROWS ONLY");
+    }
+
+    /** BidRepository.countByJobId. */
+    @Test
+    void bidCountOfJob() {
+        assertNoSeqScanOnLargeTables("SELECT count(b.id) FROM bids b WHERE b.job_id = 1234");
+    }
+
+    /** BookingRepository.findByBid_Id. */
+    @Test
+    void bookingOfBid() {
+        assertNoSeqScanOnLargeTables("SELECT b.* FROM bookings b WHERE b.bid_id = 3702");
+    }
+
+    /** ChatThreadRepository.findByBookingId. */
+    @Test
+    void threadOfBooking() {
+        assertNoSeqScanOnLargeTables("SELECT t.* FROM chat_threads t WHERE t.booking_id = 1234");
+    }
+
+    /** ReviewRepository.getAverageRatingByMahirId, countPublicByMahirId and countPublicByRatingForMahir. */
+    @Test
+    void publicRatingAggregates() {
+        long mahirId = CUSTOMERS + 7;
+        String publicReviews = " FROM reviews r WHERE r.mahir_id = " + mahirId + " AND r.hidden_from_public = false";
+        assertNoSeqScanOnLargeTables("SELECT coalesce(avg(r.rating), 0)" + publicReviews);
+        assertNoSeqScanOnLargeTables("SELECT count(r.id)" + publicReviews);
+        assertNoSeqScanOnLargeTables("SELECT r.rating, count(r.id)" + publicReviews + " GROUP BY r.rating");
+    }
+
+    /** The feed query with Hibernate's placeholders for status, categoryId (bound twice) and the page size. */
+    private static String publicFeed(String status, String categoryIsNull, String categoryEquals, String limit) {
+        return "SELECT j.id, p.id, p.full_name, p.email, c.id, c.name, j.title, j.description, j.job_street_address, "
+                + "j.job_latitude, j.job_longitude, j.scheduled_at, j.budget_min, j.budget_max, j.duration_hours, "
+                + "j.status, j.hidden_from_public, j.moderation_blocked, j.bid_count, j.created_at, j.updated_at "
+                + "FROM jobs j JOIN users p ON p.id = j.posted_by_id JOIN categories c ON c.id = j.category_id "
+                + "WHERE j.status = " + status + " AND p.blocked = false AND j.hidden_from_public = false "
+                + "AND j.moderation_blocked = false AND (" + categoryIsNull + " IS NULL OR c.id = " + categoryEquals + ") "
+                + "ORDER BY j.created_at DESC, j.id DESC FETCH FIRST " + limit + " ROWS ONLY";
+    }
+
+    /** NearbySearchRepository's box, geohash cell ranges and radius cut, with the area's values inlined. */
+    private static String nearby(GeoArea area, String lat, String lng, String geohash) {
+        StringBuilder where = new StringBuilder()
+                .append(lat).append(" BETWEEN ").append(area.getMinLat()).append(" AND ").append(area.getMaxLat())
+                .append(" AND ").append(lng).append(" BETWEEN ").append(area.getMinLng()).append(" AND ").append(area.getMaxLng());
+        List<String[]> cells = area.getCellRanges();
+        if (!cells.isEmpty()) {
+            where.append(" AND (");
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) where.append(" OR ");
+                where.append(geohash).append(" BETWEEN '").append(cells.get(i)[0]).append("' AND '").append(cells.get(i)[1]).append("'");
+            }
+            where.append(")");
+        }
+        return where.append(" AND ").append(distance(area, lat, lng)).append(" <= ").append(area.getMaxDistanceSquared()).toString();
+    }
+
+    private static String distance(GeoArea area, String lat, String lng) {
+        double scale = area.getLngScale();
+        return "((" + lat + " - " + area.getLatitude() + ") * (" + lat + " - " + area.getLatitude() + ") + (("
+                + lng + " - " + area.getLongitude() + ") * " + scale + ") * ((" + lng + " - " + area.getLongitude() + ") * " + scale + "))";
+    }
+
+    /** The candidate scan of JobSearchRepository.searchFullText, without category or area. */
+    private static String fullTextCandidates(String tsQuery) {
+        return "SELECT j.id, j.created_at, j.search_vector FROM jobs j JOIN users p ON p.id = j.posted_by_id "
+                + "WHERE j.search_vector @@ to_tsquery('simple', '" + tsQuery + "') AND j.status = 'OPEN' "
+                + "AND j.hidden_from_public = FALSE AND j.moderation_blocked = FALSE AND p.blocked = FALSE "
+                + "ORDER BY j.created_at DESC LIMIT " + JobSearchRepository.MAX_CANDIDATES;
+    }
+
+    /** Sets the geohash column from the coordinates, as GeoHashBackfillRunner does for existing rows. */
+    private static void fillGeohash(String table, String lat, String lng, String geohash) {
+        List<Object[]> rows = jdbc.query("SELECT id, " + lat + ", " + lng + " FROM " + table + " WHERE " + lat + " IS NOT NULL",
+                (rs, rowNum) -> new Object[] { GeoHash.encode(rs.getDouble(2), rs.getDouble(3)), rs.getLong(1) });
+        jdbc.batchUpdate("UPDATE " + table + " SET " + geohash + " = ? WHERE id = ?", rows);
+    }
+
+    private static void assertNoSeqScanOnLargeTables(String sql) {
+        assertNoSeqScanOnLargeTables("", sql);
+    }
+
+    private static void assertNoSeqScanOnLargeTables(String options, String sql) {
+        String plan = explain(options, sql);
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(root(plan, sql), seqScans);
+        assertThat(seqScans)
+                .as("sequential scans in the plan of %s%n%s", sql, plan)
+                .isEmpty();
+    }
+
+    private static void assertUsesIndex(String sql, String index) {
+        String plan = explain("", sql);
+        List<String> indexes = new ArrayList<>();
+        collectIndexNames(root(plan, sql), indexes);
+        assertThat(indexes)
+                .as("indexes in the plan of %s%n%s", sql, plan)
+                .contains(index);
+    }
+
+    private static String explain(String options, String sql) {
+        return jdbc.queryForObject("EXPLAIN (" + options + "FORMAT JSON) " + sql, String.class);
+    }
+
+    private static JsonNode root(String plan, String sql) {
+        try {
+            return JSON.readTree(plan).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan for: " + sql, e);
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> into) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            into.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, into);
+        }
+    }
+
+    private static void collectIndexNames(JsonNode node, List<String> into) {
+        if (node.hasNonNull("Index Name")) {
+            into.add(node.get("Index Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectIndexNames(child, into);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demoapp.service;
+
+import com.example.demoapp.entity.*;
+import com.example.demoapp.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query budgets for the paged listings: each listing is called for a page of {@link #SMALL_PAGE} and of
+ * {@link #LARGE_PAGE} rows, counting JDBC statements with Hibernate statistics. The count must be the same for
+ * both (no statement per row, e.g. a lazy association or a per-row count) and stay within
+ * {@link #MAX_STATEMENTS}.
+ * <p>
+ * Every row on a page references its own users, job and category, so a per-row load cannot hide behind the
+ * persistence context. Each call runs in one read-only transaction, like a request under open-in-view.
+ * Statistics are factory-wide, so background rebuilds that query the database are switched off.
+ */
+@SpringBootTest(properties = {
+        // application.properties pins the MySQL dialect, which beats the h2 profile's database-platform
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.sample-data.enabled=false",
+        "app.job-feed.enabled=false",
+        "app.mahir-directory.enabled=false",
+        "app.push.gateway=log",
+        "app.push.sweep-interval-ms=3600000"
+})
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListingQueryBudgetTest {
+
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 25;
+    /** Rows seeded per listing; more than {@link #LARGE_PAGE} so both pages are full and both run the count query. */
+    private static final int ROWS = 30;
+    private static final int MAX_STATEMENTS = 8;
+
+    @Autowired private JobService jobService;
+    @Autowired private BidService bidService;
+    @Autowired private BookingService bookingService;
+    @Autowired private AdminService adminService;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private JobRepository jobRepository;
+    @Autowired private BidRepository bidRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ChatThreadRepository chatThreadRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private SupportThreadRepository supportThreadRepository;
+    @Autowired private MembershipPlanRepository membershipPlanRepository;
+    @Autowired private UserMembershipRepository userMembershipRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnly;
+
+    /** Posts {@link #ROWS} jobs, each hired out (booking, chat thread, review) to a different Mahir. */
+    private User customer;
+    /** Bids on {@link #ROWS} jobs of different customers. */
+    private User mahir;
+    /** The customer's first job; every seeded Mahir has bid on it. */
+    private Job biddenJob;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customer = userRepository.save(user("budget-customer", Role.USER, null));
+            mahir = userRepository.save(user("budget-mahir", Role.MAHIR, null));
+            MembershipPlan plan = membershipPlanRepository.save(MembershipPlan.builder()
+                    .name("Budget plan").code("budget-plan").build());
+            List<Job> customerJobs = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                Category category = categoryRepository.save(Category.builder().name("Budget category " + i).build());
+                User otherCustomer = userRepository.save(user("budget-customer-" + i, Role.USER, null));
+                User otherMahir = userRepository.save(user("budget-mahir-" + i, Role.MAHIR, category));
+
+                Job own = jobRepository.save(job(customer, category, "Own job " + i));
+                customerJobs.add(own);
+                Job other = jobRepository.save(job(otherCustomer, category, "Other job " + i));
+                bidRepository.save(bid(other, mahir));
+
+                Booking booking = bookingRepository.save(Booking.builder()
+                        .customer(customer).mahir(otherMahir).job(own).agreedPrice(BigDecimal.TEN).build());
+                chatThreadRepository.save(ChatThread.builder().booking(booking).build());
+                reviewRepository.save(Review.builder()
+                        .booking(booking).reviewer(customer).mahir(otherMahir).rating(1 + i % 5).build());
+
+                supportThreadRepository.save(SupportThread.builder().user(otherCustomer).build());
+                userMembershipRepository.save(UserMembership.builder()
+                        .user(otherCustomer).plan(plan).startedAt(Instant.now()).build());
+            }
+            biddenJob = customerJobs.get(0);
+            for (User m : userRepository.findAll()) {
+                if (m.getRole() == Role.MAHIR && m.getEmail().startsWith("budget-mahir-")) {
+                    bidRepository.save(bid(biddenJob, m));
+                }
+            }
+        });
+    }
+
+    @Test
+    void jobListings() {
+        assertBudget("JobService.listMyJobs", p -> jobService.listMyJobs(customer.getId(), null, p));
+        assertBudget("JobService.listOpenJobs", p -> jobService.listOpenJobs(null, null, null, p));
+        assertBudget("AdminService.listAllJobs", p -> adminService.listAllJobs(p));
+    }
+
+    @Test
+    void bidListings() {
+        assertBudget("BidService.listBidsForJob", p -> bidService.listBidsForJob(biddenJob.getId(), customer.getId(), p));
+        assertBudget("BidService.listMyBids", p -> bidService.listMyBids(mahir.getId(), null, p));
+    }
+
+    @Test
+    void bookingListings() {
+        assertBudget("BookingService.getMyBookings", p -> bookingService.getMyBookings(customer.getId(), null, p));
+    }
+
+    @Test
+    void adminListings() {
+        assertBudget("AdminService.listUsers", p -> adminService.listUsers(null, Role.MAHIR, null, p));
+        assertBudget("AdminService.listAllReviews", p -> adminService.listAllReviews(p));
+        assertBudget("AdminService.listSupportThreads", p -> adminService.listSupportThreads(p));
+        assertBudget("AdminService.listAllMemberships", p -> adminService.listAllMemberships(p));
+    }
+
+    private void assertBudget(String listing, Function<Pageable, Page<?>> call) {
+        long small = statements(listing, SMALL_PAGE, call);
+        long large = statements(listing, LARGE_PAGE, call);
+        assertThat(large)
+                .as("%s: statements for %d rows vs %d rows", listing, LARGE_PAGE, SMALL_PAGE)
+                .isEqualTo(small);
+        assertThat(large)
+                .as("%s: statements per page", listing)
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private long statements(String listing, int size, Function<Pageable, Page<?>> call) {
+        Pageable pageable = PageRequest.of(0, size);
+        statistics.clear();
+        Page<?> page = readOnly.execute(status -> call.apply(pageable));
+        long count = statistics.getPrepareStatementCount();
+        assertThat(page.getNumberOfElements()).as("%s: rows on a page of %d", listing, size).isEqualTo(size);
+        return count;
+    }
+
+    private static User user(String name, Role role, Category serviceCategory) {
+        User u = User.builder()
+                .fullName(name)
+                .email(name + "@budget.test")
+                .password("x")
+                .role(role)
+                .build();
+        if (serviceCategory != null) {
+            u.getServiceCategories().add(serviceCategory);
+        }
+        return u;
+    }
+
+    private static Job job(User poster, Category category, String title) {
+        return Job.builder().postedBy(poster).category(category).title(title).status(JobStatus.OPEN).build();
+    }
+
+    private static Bid bid(Job job, User mahir) {
+        return Bid.builder().job(job).mahir(mahir).proposedPrice(BigDecimal.TEN).build();
+    }
+}